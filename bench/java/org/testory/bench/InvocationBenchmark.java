@@ -0,0 +1,58 @@
+package org.testory.bench;
+
+import static org.testory.TestoryFacade.testoryFacade;
+import static org.testory.plumbing.facade.Configuration.configuration;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testory.plumbing.facade.Facade;
+
+/**
+ * History is bounded, so that invocations recorded during iteration do not grow it. Stubbings are
+ * not truncated, so each invocation considers same stubbings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InvocationBenchmark {
+  @Param({ "0", "10", "1000" })
+  public int stubs;
+
+  private Facade facade;
+  private Mockable mock;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    facade = testoryFacade(configuration().historyLimit(100000));
+    mock = facade.mock(Mockable.class);
+    for (int i = 0; i < stubs; i++) {
+      facade.given(facade.willReturn(i), mock).get(i);
+    }
+  }
+
+  /** invokes method stubbed first, so all later stubbings are considered before it */
+  @Benchmark
+  public Object invoke() {
+    return mock.get(0);
+  }
+
+  @Benchmark
+  public void invoke_void() {
+    mock.invoke();
+  }
+}
@@ -0,0 +1,11 @@
+package org.testory.bench;
+
+public abstract class Mockable {
+  public abstract void invoke();
+
+  public abstract Object get(int index);
+
+  public abstract Object get(String key);
+
+  public abstract Object take(Object object);
+}
@@ -0,0 +1,58 @@
+package org.testory.bench;
+
+import static org.testory.TestoryFacade.testoryFacade;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testory.plumbing.facade.Facade;
+
+/**
+ * Each iteration mocks batch of instances on fresh facade, so history does not grow across
+ * iterations. Score of mock_warm is time of whole batch.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 50, batchSize = 1000)
+@Measurement(iterations = 50, batchSize = 1000)
+@Fork(1)
+@State(Scope.Thread)
+public class MockingBenchmark {
+  private Facade facade;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    facade = testoryFacade();
+  }
+
+  /** proxy class is already generated, so mocking costs only new instance and naming */
+  @Benchmark
+  public Object mock_warm() {
+    return facade.mock(Mockable.class);
+  }
+
+  /** first mock of type in fresh jvm, including generation of proxy class */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Warmup(iterations = 0)
+  @Measurement(iterations = 1)
+  @Fork(20)
+  public Object mock_cold() {
+    return facade.mock(Cold.class);
+  }
+
+  public static abstract class Cold {
+    public abstract void invoke();
+  }
+}
@@ -0,0 +1,84 @@
+package org.testory.bench;
+
+import static org.testory.TestoryFacade.testoryFacade;
+import static org.testory.plumbing.facade.Configuration.configuration;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testory.plumbing.facade.Facade;
+
+/**
+ * Many threads invoking same mock. History is bounded, so that memory does not limit number of
+ * recorded invocations during iteration. Buffered history merges invocations only when it is read,
+ * so each thread reads it after every batch of invocations, like verification would.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecordingBenchmark {
+  @Param({ "false", "true" })
+  public boolean buffered;
+
+  private Facade facade;
+  private Mockable mock;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    facade = testoryFacade(configuration()
+        .historyLimit(100000)
+        .buffered(buffered));
+    mock = facade.mock(Mockable.class);
+  }
+
+  @State(Scope.Thread)
+  public static class Batch {
+    int invocations;
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void threads_1(Batch batch) {
+    invoke(batch);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void threads_4(Batch batch) {
+    invoke(batch);
+  }
+
+  @Benchmark
+  @Threads(16)
+  public void threads_16(Batch batch) {
+    invoke(batch);
+  }
+
+  @Benchmark
+  @Threads(64)
+  public void threads_64(Batch batch) {
+    invoke(batch);
+  }
+
+  private void invoke(Batch batch) {
+    mock.invoke();
+    if (++batch.invocations % 1000 == 0) {
+      facade.metrics();
+    }
+  }
+}
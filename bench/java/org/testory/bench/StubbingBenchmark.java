@@ -0,0 +1,46 @@
+package org.testory.bench;
+
+import static org.testory.TestoryFacade.testoryFacade;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testory.plumbing.facade.Facade;
+
+/**
+ * Stubbings are kept in history even if it is bounded, so each iteration stubs batch of calls on
+ * fresh facade. Score is time of whole batch.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 50, batchSize = 1000)
+@Measurement(iterations = 50, batchSize = 1000)
+@Fork(1)
+@State(Scope.Thread)
+public class StubbingBenchmark {
+  private Facade facade;
+  private Mockable mock;
+  private Object value;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    facade = testoryFacade();
+    mock = facade.mock(Mockable.class);
+    value = new Object();
+  }
+
+  @Benchmark
+  public Object given_will_return() {
+    return facade.given(facade.willReturn(value), mock).get(0);
+  }
+}
@@ -0,0 +1,55 @@
+package org.testory.bench;
+
+import static org.testory.TestoryFacade.testoryFacade;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.testory.plumbing.facade.Facade;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class VerificationBenchmark {
+  @Param({ "1000", "10000", "100000", "1000000" })
+  public int events;
+
+  private Facade facade;
+  private Mockable mock;
+
+  @Setup
+  public void setup() {
+    facade = testoryFacade();
+    mock = facade.mock(Mockable.class);
+    for (int i = 0; i < events / 2; i++) {
+      mock.invoke();
+      mock.get(i % 10);
+    }
+  }
+
+  @Benchmark
+  public void then_called_times(Blackhole blackhole) {
+    Mockable verified = facade.thenCalledTimes(events / 2, mock);
+    verified.invoke();
+    blackhole.consume(verified);
+  }
+
+  @Benchmark
+  public void then_called_times_with_arguments(Blackhole blackhole) {
+    blackhole.consume(facade.thenCalledTimes(events / 20, mock).get(7));
+  }
+}
@@ -0,0 +1,46 @@
+package org.testory.bench;
+
+import static org.testory.TestoryFacade.testoryFacade;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testory.plumbing.facade.Facade;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WhenBenchmark {
+  private Facade facade;
+  private Real real;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    facade = testoryFacade();
+    real = new Real();
+  }
+
+  @Benchmark
+  public Object when_invocation() {
+    return facade.when(real).get();
+  }
+
+  public static class Real {
+    public Object get() {
+      return this;
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package org.testory.bench;
+
+import static org.testory.TestoryFacade.testoryFacade;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testory.plumbing.facade.Facade;
+
+/**
+ * Tokenizing any(...) is measured together with stubbing, which consumes the token. Score is time
+ * of stubbing whole batch, starting with fresh facade, like in {@link StubbingBenchmark}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 50, batchSize = 1000)
+@Measurement(iterations = 50, batchSize = 1000)
+@Fork(1)
+@State(Scope.Thread)
+public class WildcardBenchmark {
+  private Facade facade;
+  private Mockable mock;
+  private Object value;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    facade = testoryFacade();
+    mock = facade.mock(Mockable.class);
+    value = new Object();
+  }
+
+  @Benchmark
+  public Object any_primitive() {
+    return facade.given(facade.willReturn(value), mock).get(facade.any(int.class));
+  }
+
+  @Benchmark
+  public Object any_concrete() {
+    return facade.given(facade.willReturn(value), mock).get(facade.any(String.class));
+  }
+
+  @Benchmark
+  public Object any_abstract() {
+    return facade.given(facade.willReturn(value), mock).take(facade.any(Mockable.class));
+  }
+}
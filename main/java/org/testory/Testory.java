@@ -2,6 +2,8 @@ package org.testory;
 
 import static org.testory.TestoryFacade.testoryFacade;
 
+import java.util.Map;
+
 import org.testory.common.Closure;
 import org.testory.common.Nullable;
 import org.testory.common.VoidClosure;
@@ -315,4 +317,12 @@ public class Testory {
   public static void thenCalledInOrder(InvocationMatcher invocationMatcher) {
     getFacade().thenCalledInOrder(invocationMatcher);
   }
+
+  /**
+   * counters of work done by testory facade of current thread, including invocations of its mocks
+   * from other threads, if enabled by testory.metrics property
+   */
+  public static Map<String, Long> metrics() {
+    return getFacade().metrics();
+  }
 }
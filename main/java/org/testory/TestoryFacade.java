@@ -1,24 +1,29 @@
 package org.testory;
 
+import static org.testory.common.Metrics.metrics;
+import static org.testory.common.Metrics.noMetrics;
 import static org.testory.common.PageFormatter.pageFormatter;
 import static org.testory.plumbing.Checker.checker;
 import static org.testory.plumbing.CheckingProxer.checkingProxer;
+import static org.testory.plumbing.PlumbingException.check;
 import static org.testory.plumbing.facade.CheckingFacade.checking;
 import static org.testory.plumbing.facade.ConfigurableFacade.configurableFacade;
 import static org.testory.plumbing.facade.Configuration.configuration;
 import static org.testory.plumbing.facade.PurgingFacade.purging;
 import static org.testory.plumbing.format.MessageFormatter.messageFormatter;
 import static org.testory.plumbing.format.QuietFormatter.quiet;
-import static org.testory.plumbing.history.RawHistory.newRawHistory;
-import static org.testory.plumbing.history.SynchronizedHistory.synchronize;
+import static org.testory.plumbing.history.BufferedHistory.buffered;
+import static org.testory.plumbing.history.ConcurrentHistory.newConcurrentHistory;
+import static org.testory.plumbing.history.MeasuredHistory.measured;
 import static org.testory.plumbing.inject.ArrayMaker.singletonArray;
-import static org.testory.plumbing.inject.ChainedMaker.chain;
 import static org.testory.plumbing.inject.FinalMaker.finalMaker;
 import static org.testory.plumbing.inject.Injector.injector;
+import static org.testory.plumbing.inject.MockableMaker.mockable;
 import static org.testory.plumbing.inject.RandomPrimitiveMaker.randomPrimitiveMaker;
 import static org.testory.plumbing.mock.NiceMockMaker.nice;
 import static org.testory.plumbing.mock.RawMockMaker.rawMockMaker;
 import static org.testory.plumbing.mock.SaneMockMaker.sane;
+import static org.testory.plumbing.mock.StubbedIndex.stubbedIndex;
 import static org.testory.plumbing.mock.UniqueNamer.uniqueNamer;
 import static org.testory.plumbing.verify.Verifier.verifier;
 import static org.testory.plumbing.wildcard.Matcherizer.matcherizer;
@@ -33,6 +38,7 @@ import static org.testory.proxy.proxer.NonFinalProxer.nonFinal;
 import static org.testory.proxy.proxer.RepeatableProxer.repeatable;
 import static org.testory.proxy.proxer.TypeSafeProxer.typeSafe;
 
+import org.testory.common.Metrics;
 import org.testory.common.PageFormatter;
 import org.testory.plumbing.Checker;
 import org.testory.plumbing.Maker;
@@ -45,35 +51,80 @@ import org.testory.proxy.Proxer;
 import org.testory.proxy.extra.Overrider;
 
 public class TestoryFacade {
+  /** reads options from system properties */
   public static Facade testoryFacade() {
+    Configuration options = configuration()
+        .messageLimit(Integer.getInteger("testory.message.limit", 100))
+        .buffered(Boolean.getBoolean("testory.buffered"));
+    Integer historyLimit = Integer.getInteger("testory.history.limit");
+    if (historyLimit != null) {
+      options = options.historyLimit(historyLimit);
+    }
+    if (Boolean.getBoolean("testory.metrics")) {
+      options = options.metrics(metrics());
+    }
+    return testoryFacade(options);
+  }
+
+  /** builds components on top of options already present in configuration */
+  public static Facade testoryFacade(Configuration options) {
+    check(options != null);
     Class<TestoryException> exception = TestoryException.class;
-    QuietFormatter formatter = quiet(messageFormatter());
+    Metrics metrics = options.metrics == null
+        ? noMetrics()
+        : options.metrics;
+    History recorded = measured(metrics, options.historyLimit == null
+        ? newConcurrentHistory()
+        : newConcurrentHistory(options.historyLimit));
+    QuietFormatter formatter = quiet(messageFormatter(), recorded);
     PageFormatter pageFormatter = pageFormatter(formatter).add("\n");
-    History history = formatter.quiet(synchronize(newRawHistory()));
-    Checker checker = checker(history, exception);
-    Proxer proxer = nonFinal(typeSafe(jdkCollections(fixObjectBug(repeatable(cglibProxer())))));
+    History history = formatter.quiet(options.buffered
+        ? buffered(recorded)
+        : recorded);
+    Checker checker = checker(recorded, exception);
+    Proxer proxer = nonFinal(typeSafe(jdkCollections(fixObjectBug(repeatable(
+        cglibProxer(metrics))))));
     Overrider overrider = overrider(proxer);
-    Maker mockMaker = sane(history, nice(history, rawMockMaker(history, checkingProxer(checker, proxer))));
-    Wildcarder wildcarder = wildcarder(
+    Proxer mockProxer = checkingProxer(checker, formatter.quiet(proxer));
+    Maker rawMockMaker = rawMockMaker(
         history,
+        stubbedIndex(recorded),
+        mockProxer,
+        metrics);
+    Maker mockMaker = sane(history, nice(history, rawMockMaker));
+    Wildcarder wildcarder = wildcarder(
         tokenizer(proxer),
         repairer(checker),
         matcherizer(formatter),
         formatter);
 
-    Configuration configuration = configuration()
+    Configuration configuration = options
         .history(history)
         .checker(checker)
+        .formatter(formatter)
         .pageFormatter(pageFormatter)
         .exception(exception)
         .overrider(overrider)
         .mockNamer(uniqueNamer(history))
         .mockMaker(mockMaker)
-        .injector(injector(singletonArray(chain(randomPrimitiveMaker(), finalMaker(), mockMaker))))
+        .injector(injector(singletonArray(options.makers
+            .register(randomPrimitiveMaker())
+            .register(finalMaker())
+            .register(mockable(mockMaker))
+            .checking(checker))))
         .wildcarder(wildcarder)
-        .verifier(verifier(proxer, overrider, pageFormatter, wildcarder, history))
+        .verifier(verifier(
+            proxer,
+            overrider,
+            pageFormatter,
+            formatter,
+            wildcarder,
+            history,
+            options.messageLimit,
+            metrics))
+        .metrics(metrics)
         .validate();
 
-    return checking(checker, proxer, purging(history, proxer, configurableFacade(configuration)));
+    return checking(checker, purging(history, wildcarder, configurableFacade(configuration)));
   }
 }
@@ -0,0 +1,54 @@
+package org.testory.common;
+
+import static java.util.Objects.requireNonNull;
+import static org.testory.common.Checks.checkArgument;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Values computed once for each key and kept as long as cache is reachable. Racing threads may
+ * compute same value more than once, but all of them get value that was cached first. Bounded cache
+ * keeps at most limit values. Once there are more of them, arbitrary values are evicted and
+ * computed again if needed, so lookups never wait for each other.
+ */
+public abstract class Cache<K, V> {
+  private final ConcurrentMap<K, V> values = new ConcurrentHashMap<>();
+  private final int limit;
+
+  protected Cache() {
+    this(Integer.MAX_VALUE);
+  }
+
+  protected Cache(int limit) {
+    checkArgument(limit > 0);
+    this.limit = limit;
+  }
+
+  protected abstract V compute(K key);
+
+  public V get(K key) {
+    requireNonNull(key);
+    V value = values.get(key);
+    if (value == null) {
+      V computed = compute(key);
+      value = values.putIfAbsent(key, computed);
+      if (value == null) {
+        value = computed;
+        evict();
+      }
+    }
+    return value;
+  }
+
+  private void evict() {
+    if (values.size() > limit) {
+      Iterator<K> keys = values.keySet().iterator();
+      while (values.size() > limit && keys.hasNext()) {
+        keys.next();
+        keys.remove();
+      }
+    }
+  }
+}
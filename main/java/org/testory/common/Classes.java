@@ -1,6 +1,8 @@
 package org.testory.common;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.unmodifiableMap;
+import static java.util.Collections.unmodifiableSet;
 import static java.util.Objects.requireNonNull;
 import static org.testory.common.Checks.checkArgument;
 
@@ -10,7 +12,9 @@ import java.lang.reflect.Modifier;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 public class Classes {
   public static void setAccessible(final AccessibleObject accessible) {
@@ -32,31 +36,31 @@ public class Classes {
 
   private static boolean canConvert(Object instance, Class<?> type) {
     checkArgument(type.isPrimitive());
-    if (type == void.class) {
-      return false;
-    }
-    try {
-      @SuppressWarnings("unused")
-      class Methods {
-        // @formatter:off
-        void method(boolean a) {}
-        void method(char a) {}
-        void method(byte a) {}
-        void method(short a) {}
-        void method(int a) {}
-        void method(long a) {}
-        void method(float a) {}
-        void method(double a) {}
-        // @formatter:on
-      }
+    return instance != null && conversions.get(type).contains(instance.getClass());
+  }
 
-      Methods.class.getDeclaredMethod("method", type).invoke(new Methods(), instance);
-      return true;
-    } catch (IllegalArgumentException e) {
-      return false;
-    } catch (ReflectiveOperationException e) {
-      throw new LinkageError(null, e);
-    }
+  /** wrappers of primitives that can be converted to primitive by identity or widening */
+  private static final Map<Class<?>, Set<Class<?>>> conversions = conversions();
+
+  private static Map<Class<?>, Set<Class<?>>> conversions() {
+    Map<Class<?>, Set<Class<?>>> map = new HashMap<>();
+    map.put(void.class, wrappers());
+    map.put(boolean.class, wrappers(Boolean.class));
+    map.put(char.class, wrappers(Character.class));
+    map.put(byte.class, wrappers(Byte.class));
+    map.put(short.class, wrappers(Byte.class, Short.class));
+    map.put(int.class, wrappers(Byte.class, Short.class, Character.class, Integer.class));
+    map.put(long.class, wrappers(Byte.class, Short.class, Character.class, Integer.class,
+        Long.class));
+    map.put(float.class, wrappers(Byte.class, Short.class, Character.class, Integer.class,
+        Long.class, Float.class));
+    map.put(double.class, wrappers(Byte.class, Short.class, Character.class, Integer.class,
+        Long.class, Float.class, Double.class));
+    return unmodifiableMap(map);
+  }
+
+  private static Set<Class<?>> wrappers(Class<?>... wrappers) {
+    return unmodifiableSet(new HashSet<Class<?>>(asList(wrappers)));
   }
 
   public static boolean canReturn(@Nullable Object object, Method method) {
@@ -67,7 +71,7 @@ public class Classes {
   public static boolean canThrow(Throwable throwable, Method method) {
     requireNonNull(throwable);
     requireNonNull(method);
-    for (Class<?> exceptionType : method.getExceptionTypes()) {
+    for (Class<?> exceptionType : exceptionTypes(method)) {
       if (exceptionType.isInstance(throwable)) {
         return true;
       }
@@ -75,6 +79,23 @@ public class Classes {
     return throwable instanceof RuntimeException || throwable instanceof Error;
   }
 
+  /** avoids copying array on each call to {@link Method#getExceptionTypes()} */
+  private static Class<?>[] exceptionTypes(Method method) {
+    return exceptionTypes.get(method.getDeclaringClass()).get(method);
+  }
+
+  /** kept with declaring class, so caching does not prevent unloading classes */
+  private static final ClassValue<Cache<Method, Class<?>[]>> exceptionTypes =
+      new ClassValue<Cache<Method, Class<?>[]>>() {
+        protected Cache<Method, Class<?>[]> computeValue(Class<?> type) {
+          return new Cache<Method, Class<?>[]>() {
+            protected Class<?>[] compute(Method method) {
+              return method.getExceptionTypes();
+            }
+          };
+        }
+      };
+
   public static boolean canInvoke(Method method, @Nullable Object instance, Object... arguments) {
     requireNonNull(method);
     requireNonNull(arguments);
@@ -3,7 +3,7 @@ package org.testory.common;
 import static java.util.Objects.requireNonNull;
 
 public class DelegatingMatcher implements Matcher {
-  private final Matcher matcher;
+  final Matcher matcher;
 
   public DelegatingMatcher(Matcher matcher) {
     this.matcher = requireNonNull(matcher);
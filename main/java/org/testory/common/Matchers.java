@@ -101,29 +101,34 @@ public class Matchers {
     };
   }
 
+  /** true if matcher is anything, even if delegated to */
+  public static boolean isAnything(Matcher matcher) {
+    return matcher == anything
+        || matcher instanceof DelegatingMatcher
+            && isAnything(((DelegatingMatcher) matcher).matcher);
+  }
+
   public static boolean isMatcher(Object matcher) {
-    return findMatchesMethod(matcher.getClass()).isPresent();
+    return accessors.get(matcher.getClass()).matchesMethod.isPresent();
   }
 
   public static boolean isDiagnosticMatcher(Object matcher) {
-    return findDiagnoseMethod(matcher.getClass()).isPresent();
+    return accessors.get(matcher.getClass()).diagnoseMethod.isPresent();
   }
 
   public static Matcher asMatcher(Object matcher) {
-    Optional<Method> matchesMethod = findMatchesMethod(matcher.getClass());
-    checkArgument(matchesMethod.isPresent());
-    Optional<Method> diagnoseMethod = findDiagnoseMethod(matcher.getClass());
-    return diagnoseMethod.isPresent()
-        ? newDiagnosticMatcher(matcher, matchesMethod.get(), diagnoseMethod.get())
-        : newMatcher(matcher, matchesMethod.get());
+    Accessors accessors = Matchers.accessors.get(matcher.getClass());
+    checkArgument(accessors.matchesMethod.isPresent());
+    return accessors.diagnoseMethod.isPresent()
+        ? newDiagnosticMatcher(matcher, accessors)
+        : newMatcher(matcher, accessors.matchesMethod.get());
   }
 
   public static DiagnosticMatcher asDiagnosticMatcher(Object matcher) {
-    Optional<Method> matchesMethod = findMatchesMethod(matcher.getClass());
-    checkArgument(matchesMethod.isPresent());
-    Optional<Method> diagnoseMethod = findDiagnoseMethod(matcher.getClass());
-    checkArgument(diagnoseMethod.isPresent());
-    return newDiagnosticMatcher(matcher, matchesMethod.get(), diagnoseMethod.get());
+    Accessors accessors = Matchers.accessors.get(matcher.getClass());
+    checkArgument(accessors.matchesMethod.isPresent());
+    checkArgument(accessors.diagnoseMethod.isPresent());
+    return newDiagnosticMatcher(matcher, accessors);
   }
 
   private static Matcher newMatcher(final Object dynamicMatcher, final Method matchesMethod) {
@@ -147,9 +152,9 @@ public class Matchers {
 
   private static DiagnosticMatcher newDiagnosticMatcher(
       final Object dynamicMatcher,
-      Method matchesMethod,
-      final Method diagnoseMethod) {
-    final Matcher matcher = newMatcher(dynamicMatcher, matchesMethod);
+      final Accessors accessors) {
+    final Matcher matcher = newMatcher(dynamicMatcher, accessors.matchesMethod.get());
+    final Method diagnoseMethod = accessors.diagnoseMethod.get();
     return new DiagnosticMatcher() {
       public boolean matches(Object item) {
         return matcher.matches(item);
@@ -161,9 +166,7 @@ public class Matchers {
 
       public String diagnose(@Nullable Object item) {
         try {
-          ClassLoader loader = dynamicMatcher.getClass().getClassLoader();
-          Class<?> descriptionClass = Class.forName("org.hamcrest.StringDescription", true, loader);
-          Object description = descriptionClass.newInstance();
+          Object description = accessors.descriptionClass().getDeclaredConstructor().newInstance();
           setAccessible(diagnoseMethod);
           diagnoseMethod.invoke(dynamicMatcher, item, description);
           return description.toString();
@@ -176,6 +179,37 @@ public class Matchers {
     };
   }
 
+  private static final ClassValue<Accessors> accessors = new ClassValue<Accessors>() {
+    protected Accessors computeValue(Class<?> type) {
+      return new Accessors(type);
+    }
+  };
+
+  /**
+   * reflection needed to use instances of matcher class, resolved once for each class; methods are
+   * made accessible only when invoked, so finding them never fails
+   */
+  private static class Accessors {
+    final Class<?> type;
+    final Optional<Method> matchesMethod;
+    final Optional<Method> diagnoseMethod;
+    private volatile Class<?> descriptionClass;
+
+    Accessors(Class<?> type) {
+      this.type = type;
+      matchesMethod = findMatchesMethod(type);
+      diagnoseMethod = findDiagnoseMethod(type);
+    }
+
+    Class<?> descriptionClass() throws ClassNotFoundException {
+      if (descriptionClass == null) {
+        descriptionClass = Class.forName("org.hamcrest.StringDescription", true,
+            type.getClassLoader());
+      }
+      return descriptionClass;
+    }
+  }
+
   private static Optional<Method> findMatchesMethod(Class<?> type) {
     for (String name : asList("matches", "apply")) {
       try {
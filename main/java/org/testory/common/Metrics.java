@@ -0,0 +1,70 @@
+package org.testory.common;
+
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Named counters of work done by testory. Collecting is opt-in. Callers check {@link #enabled}
+ * before measuring anything, so disabled metrics cost only a branch.
+ */
+public class Metrics {
+  public final boolean enabled;
+  private final ConcurrentMap<String, AtomicLong> values = new ConcurrentHashMap<>();
+
+  private Metrics(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public static Metrics metrics() {
+    return new Metrics(true);
+  }
+
+  public static Metrics noMetrics() {
+    return new Metrics(false);
+  }
+
+  public void add(String name, long amount) {
+    if (enabled) {
+      value(name).addAndGet(amount);
+    }
+  }
+
+  public void set(String name, long amount) {
+    if (enabled) {
+      value(name).set(amount);
+    }
+  }
+
+  public void max(String name, long amount) {
+    if (enabled) {
+      AtomicLong value = value(name);
+      for (long current; (current = value.get()) < amount;) {
+        if (value.compareAndSet(current, amount)) {
+          break;
+        }
+      }
+    }
+  }
+
+  public Map<String, Long> snapshot() {
+    Map<String, Long> snapshot = new TreeMap<>();
+    for (Map.Entry<String, AtomicLong> entry : values.entrySet()) {
+      snapshot.put(entry.getKey(), entry.getValue().get());
+    }
+    return unmodifiableMap(snapshot);
+  }
+
+  private AtomicLong value(String name) {
+    AtomicLong value = values.get(name);
+    if (value == null) {
+      values.putIfAbsent(name, new AtomicLong());
+      value = values.get(name);
+    }
+    return value;
+  }
+}
@@ -18,6 +18,11 @@ public class PageFormatter {
         chain());
   }
 
+  @SuppressWarnings("hiding")
+  public PageFormatter formatter(Formatter formatter) {
+    return new PageFormatter(requireNonNull(formatter), chain);
+  }
+
   public PageFormatter add(Object object) {
     return new PageFormatter(formatter, chain.add(object));
   }
@@ -1,26 +1,27 @@
 package org.testory.plumbing;
 
 import static org.testory.plumbing.history.FilteredHistory.filter;
+import static org.testory.plumbing.mock.MockedIndex.mockedIndex;
 
 import java.lang.reflect.Constructor;
 
 import org.testory.common.Matchers;
 import org.testory.plumbing.history.FilteredHistory;
 import org.testory.plumbing.history.History;
-import org.testory.plumbing.mock.Mocked;
+import org.testory.plumbing.mock.MockedIndex;
 
 public class Checker {
-  private final FilteredHistory<Mocked> mockedHistory;
+  private final MockedIndex mockedIndex;
   private final FilteredHistory<Inspecting> inspectingHistory;
   private final Constructor<? extends RuntimeException> constructorString;
   private final Constructor<? extends RuntimeException> constructorThrowable;
 
   private Checker(
-      FilteredHistory<Mocked> mockedHistory,
+      MockedIndex mockedIndex,
       FilteredHistory<Inspecting> inspectingHistory,
       Constructor<? extends RuntimeException> constructorString,
       Constructor<? extends RuntimeException> constructorThrowable) {
-    this.mockedHistory = mockedHistory;
+    this.mockedIndex = mockedIndex;
     this.inspectingHistory = inspectingHistory;
     this.constructorString = constructorString;
     this.constructorThrowable = constructorThrowable;
@@ -29,7 +30,7 @@ public class Checker {
   public static Checker checker(History history, Class<? extends RuntimeException> exceptionType) {
     try {
       return new Checker(
-          filter(Mocked.class, history),
+          mockedIndex(history),
           filter(Inspecting.class, history),
           exceptionType.getConstructor(String.class),
           exceptionType.getConstructor(Throwable.class));
@@ -53,12 +54,9 @@ public class Checker {
 
   public void mock(Object mock) {
     notNull(mock);
-    for (Mocked mocked : mockedHistory.get()) {
-      if (mocked.mock == mock) {
-        return;
-      }
+    if (!mockedIndex.get(mock).isPresent()) {
+      fail("expected mock");
     }
-    fail("expected mock");
   }
 
   public void notNegative(int number) {
@@ -1,75 +1,393 @@
 package org.testory.plumbing.facade;
 
-import static java.util.Arrays.asList;
 import static org.testory.plumbing.PlumbingException.check;
-import static org.testory.proxy.Invocation.invocation;
-import static org.testory.proxy.Typing.implementing;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Method;
-import java.util.List;
+import java.util.Map;
 
-import org.testory.common.Named;
-import org.testory.common.Nullable;
-import org.testory.common.Optional;
+import org.testory.common.Closure;
+import org.testory.common.VoidClosure;
 import org.testory.plumbing.Checker;
 import org.testory.proxy.Handler;
-import org.testory.proxy.Invocation;
-import org.testory.proxy.Proxer;
+import org.testory.proxy.InvocationMatcher;
 
-public class CheckingFacade {
-  public static Facade checking(final Checker checker, Proxer proxer, final Facade facade) {
+/**
+ * checks arguments as declared by {@link Facade}: not null unless @Nullable, mock or matcher if
+ * so @Named, not negative number of times and call to when before asserting its effect
+ */
+public class CheckingFacade implements Facade {
+  private final Checker checker;
+  private final Facade facade;
+
+  private CheckingFacade(Checker checker, Facade facade) {
+    this.checker = checker;
+    this.facade = facade;
+  }
+
+  public static Facade checking(Checker checker, Facade facade) {
     check(checker != null);
-    check(proxer != null);
     check(facade != null);
-    return (Facade) proxer.proxy(implementing(Facade.class), new Handler() {
-      public Object handle(Invocation invocation) throws Throwable {
-        Method method = invocation.method;
-        String methodName = method.getName();
-        Class<?>[] parameters = method.getParameterTypes();
-        Annotation[][] parametersAnnotations = method.getParameterAnnotations();
-
-        for (int iParameter = 0; iParameter < parameters.length; iParameter++) {
-          Class<?> parameter = parameters[iParameter];
-          Object argument = invocation.arguments.get(iParameter);
-          List<Annotation> annotations = asList(parametersAnnotations[iParameter]);
-
-          if (!find(Nullable.class, annotations).isPresent()) {
-            checker.notNull(argument);
-          }
-          if (methodName.startsWith("thenReturned")
-              || methodName.startsWith("thenThrown")) {
-            checker.mustCallWhen();
-          }
-
-          Optional<Named> namedAnnotation = find(Named.class, annotations);
-          if (namedAnnotation.isPresent()) {
-            String name = namedAnnotation.get().value();
-            if (name.toLowerCase().contains("mock")) {
-              checker.mock(argument);
-            }
-            if (name.toLowerCase().contains("matcher")) {
-              checker.matcher(argument);
-            }
-          }
-
-          if (methodName.endsWith("Times")
-              && iParameter == 0
-              && parameter == int.class) {
-            checker.notNegative((Integer) argument);
-          }
-        }
-        return invocation(method, facade, invocation.arguments).invoke();
-      }
-    });
-  }
-
-  private static <A extends Annotation> Optional<A> find(Class<A> type, List<Annotation> annotations) {
-    for (Annotation annotation : annotations) {
-      if (annotation.annotationType() == type) {
-        return (Optional<A>) Optional.of(annotation);
-      }
-    }
-    return Optional.empty();
+    return new CheckingFacade(checker, facade);
+  }
+
+  public void givenTest(Object test) {
+    checker.notNull(test);
+    facade.givenTest(test);
+  }
+
+  public void given(Closure closure) {
+    checker.notNull(closure);
+    facade.given(closure);
+  }
+
+  public void given(VoidClosure closure) {
+    checker.notNull(closure);
+    facade.given(closure);
+  }
+
+  public <T> T given(T object) {
+    return facade.given(object);
+  }
+
+  public void given(boolean primitive) {
+    facade.given(primitive);
+  }
+
+  public void given(double primitive) {
+    facade.given(primitive);
+  }
+
+  public <T> T givenTry(T object) {
+    checker.notNull(object);
+    return facade.givenTry(object);
+  }
+
+  public void givenTimes(int number, Closure closure) {
+    checker.notNegative(number);
+    checker.notNull(closure);
+    facade.givenTimes(number, closure);
+  }
+
+  public void givenTimes(int number, VoidClosure closure) {
+    checker.notNegative(number);
+    checker.notNull(closure);
+    facade.givenTimes(number, closure);
+  }
+
+  public <T> T givenTimes(int number, T object) {
+    checker.notNegative(number);
+    checker.notNull(object);
+    return facade.givenTimes(number, object);
+  }
+
+  public <T> T mock(Class<T> type) {
+    checker.notNull(type);
+    return facade.mock(type);
+  }
+
+  public <T> T spy(T real) {
+    checker.notNull(real);
+    return facade.spy(real);
+  }
+
+  public <T> T given(Handler handler, T mock) {
+    checker.notNull(handler);
+    checker.mock(mock);
+    return facade.given(handler, mock);
+  }
+
+  public void given(Handler handler, InvocationMatcher invocationMatcher) {
+    checker.notNull(handler);
+    checker.notNull(invocationMatcher);
+    facade.given(handler, invocationMatcher);
+  }
+
+  public Handler willReturn(Object object) {
+    return facade.willReturn(object);
+  }
+
+  public Handler willThrow(Throwable throwable) {
+    checker.notNull(throwable);
+    return facade.willThrow(throwable);
+  }
+
+  public Handler willRethrow(Throwable throwable) {
+    checker.notNull(throwable);
+    return facade.willRethrow(throwable);
+  }
+
+  public Handler willSpy(Object real) {
+    checker.notNull(real);
+    return facade.willSpy(real);
+  }
+
+  public <T> T any(Class<T> type) {
+    checker.notNull(type);
+    return facade.any(type);
+  }
+
+  public <T> T any(Class<T> type, Object matcher) {
+    checker.notNull(type);
+    checker.matcher(matcher);
+    return facade.any(type, matcher);
+  }
+
+  public <T> T anyInstanceOf(Class<T> type) {
+    checker.notNull(type);
+    return facade.anyInstanceOf(type);
+  }
+
+  public boolean a(boolean value) {
+    return facade.a(value);
+  }
+
+  public char a(char value) {
+    return facade.a(value);
+  }
+
+  public byte a(byte value) {
+    return facade.a(value);
+  }
+
+  public short a(short value) {
+    return facade.a(value);
+  }
+
+  public int a(int value) {
+    return facade.a(value);
+  }
+
+  public long a(long value) {
+    return facade.a(value);
+  }
+
+  public float a(float value) {
+    return facade.a(value);
+  }
+
+  public double a(double value) {
+    return facade.a(value);
+  }
+
+  public <T> T a(T value) {
+    checker.notNull(value);
+    return facade.a(value);
+  }
+
+  public <T> T the(T value) {
+    checker.notNull(value);
+    return facade.the(value);
+  }
+
+  public void the(boolean value) {
+    facade.the(value);
+  }
+
+  public void the(double value) {
+    facade.the(value);
+  }
+
+  public InvocationMatcher onInstance(Object mock) {
+    checker.mock(mock);
+    return facade.onInstance(mock);
+  }
+
+  public InvocationMatcher onReturn(Class<?> type) {
+    checker.notNull(type);
+    return facade.onReturn(type);
+  }
+
+  public InvocationMatcher onRequest(Class<?> type, Object... arguments) {
+    checker.notNull(type);
+    checker.notNull(arguments);
+    return facade.onRequest(type, arguments);
+  }
+
+  public <T> T when(T object) {
+    return facade.when(object);
+  }
+
+  public void when(Closure closure) {
+    checker.notNull(closure);
+    facade.when(closure);
+  }
+
+  public void when(VoidClosure closure) {
+    checker.notNull(closure);
+    facade.when(closure);
+  }
+
+  public void when(boolean value) {
+    facade.when(value);
+  }
+
+  public void when(char value) {
+    facade.when(value);
+  }
+
+  public void when(byte value) {
+    facade.when(value);
+  }
+
+  public void when(short value) {
+    facade.when(value);
+  }
+
+  public void when(int value) {
+    facade.when(value);
+  }
+
+  public void when(long value) {
+    facade.when(value);
+  }
+
+  public void when(float value) {
+    facade.when(value);
+  }
+
+  public void when(double value) {
+    facade.when(value);
+  }
+
+  public void thenReturned(Object objectOrMatcher) {
+    checker.mustCallWhen();
+    facade.thenReturned(objectOrMatcher);
+  }
+
+  public void thenReturned(boolean value) {
+    checker.mustCallWhen();
+    facade.thenReturned(value);
+  }
+
+  public void thenReturned(char value) {
+    checker.mustCallWhen();
+    facade.thenReturned(value);
+  }
+
+  public void thenReturned(byte value) {
+    checker.mustCallWhen();
+    facade.thenReturned(value);
+  }
+
+  public void thenReturned(short value) {
+    checker.mustCallWhen();
+    facade.thenReturned(value);
+  }
+
+  public void thenReturned(int value) {
+    checker.mustCallWhen();
+    facade.thenReturned(value);
+  }
+
+  public void thenReturned(long value) {
+    checker.mustCallWhen();
+    facade.thenReturned(value);
+  }
+
+  public void thenReturned(float value) {
+    checker.mustCallWhen();
+    facade.thenReturned(value);
+  }
+
+  public void thenReturned(double value) {
+    checker.mustCallWhen();
+    facade.thenReturned(value);
+  }
+
+  public void thenReturned() {
+    facade.thenReturned();
+  }
+
+  public void thenThrown(Object matcher) {
+    checker.notNull(matcher);
+    checker.mustCallWhen();
+    checker.matcher(matcher);
+    facade.thenThrown(matcher);
+  }
+
+  public void thenThrown(Throwable throwable) {
+    checker.notNull(throwable);
+    checker.mustCallWhen();
+    facade.thenThrown(throwable);
+  }
+
+  public void thenThrown(Class<? extends Throwable> type) {
+    checker.notNull(type);
+    checker.mustCallWhen();
+    facade.thenThrown(type);
+  }
+
+  public void thenThrown() {
+    facade.thenThrown();
+  }
+
+  public void then(boolean condition) {
+    facade.then(condition);
+  }
+
+  public void then(Object object, Object matcher) {
+    checker.matcher(matcher);
+    facade.then(object, matcher);
+  }
+
+  public void thenEqual(Object object, Object expected) {
+    facade.thenEqual(object, expected);
+  }
+
+  public <T> T thenCalled(T mock) {
+    checker.mock(mock);
+    return facade.thenCalled(mock);
+  }
+
+  public void thenCalled(InvocationMatcher invocationMatcher) {
+    checker.notNull(invocationMatcher);
+    facade.thenCalled(invocationMatcher);
+  }
+
+  public <T> T thenCalledNever(T mock) {
+    checker.mock(mock);
+    return facade.thenCalledNever(mock);
+  }
+
+  public void thenCalledNever(InvocationMatcher invocationMatcher) {
+    checker.notNull(invocationMatcher);
+    facade.thenCalledNever(invocationMatcher);
+  }
+
+  public <T> T thenCalledTimes(int number, T mock) {
+    checker.notNegative(number);
+    checker.mock(mock);
+    return facade.thenCalledTimes(number, mock);
+  }
+
+  public void thenCalledTimes(int number, InvocationMatcher invocationMatcher) {
+    checker.notNegative(number);
+    checker.notNull(invocationMatcher);
+    facade.thenCalledTimes(number, invocationMatcher);
+  }
+
+  public <T> T thenCalledTimes(Object numberMatcher, T mock) {
+    checker.matcher(numberMatcher);
+    checker.mock(mock);
+    return facade.thenCalledTimes(numberMatcher, mock);
+  }
+
+  public void thenCalledTimes(Object numberMatcher, InvocationMatcher invocationMatcher) {
+    checker.matcher(numberMatcher);
+    checker.notNull(invocationMatcher);
+    facade.thenCalledTimes(numberMatcher, invocationMatcher);
+  }
+
+  public <T> T thenCalledInOrder(T mock) {
+    checker.mock(mock);
+    return facade.thenCalledInOrder(mock);
+  }
+
+  public void thenCalledInOrder(InvocationMatcher invocationMatcher) {
+    checker.notNull(invocationMatcher);
+    facade.thenCalledInOrder(invocationMatcher);
+  }
+
+  public Map<String, Long> metrics() {
+    return facade.metrics();
   }
 }
@@ -3,7 +3,6 @@ package org.testory.plumbing.facade;
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
 import static java.util.Objects.deepEquals;
-import static org.testory.TestoryAssertionError.assertionError;
 import static org.testory.common.Classes.defaultValue;
 import static org.testory.common.Effect.returned;
 import static org.testory.common.Effect.returnedVoid;
@@ -15,11 +14,12 @@ import static org.testory.common.Matchers.isMatcher;
 import static org.testory.common.ObjectFormatter.objectFormatter;
 import static org.testory.common.SequenceFormatter.sequence;
 import static org.testory.common.Throwables.gently;
-import static org.testory.common.Throwables.printStackTrace;
 import static org.testory.plumbing.Inspecting.inspecting;
 import static org.testory.plumbing.PlumbingException.check;
 import static org.testory.plumbing.format.Body.body;
+import static org.testory.plumbing.format.DeferredAssertionError.deferredAssertionError;
 import static org.testory.plumbing.format.Header.header;
+import static org.testory.plumbing.format.StackTrace.stackTrace;
 import static org.testory.plumbing.history.FilteredHistory.filter;
 import static org.testory.plumbing.mock.Stubbed.stubbed;
 import static org.testory.proxy.Invocation.invocation;
@@ -28,12 +28,14 @@ import static org.testory.proxy.handler.ThrowingHandler.throwing;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.testory.common.Closure;
 import org.testory.common.Effect;
 import org.testory.common.Effect.ReturnedObject;
 import org.testory.common.Effect.ReturnedVoid;
 import org.testory.common.Effect.Thrown;
+import org.testory.common.PageFormatter;
 import org.testory.common.VoidClosure;
 import org.testory.plumbing.Inspecting;
 import org.testory.plumbing.history.FilteredHistory;
@@ -59,7 +61,9 @@ public class ConfigurableFacade implements Facade {
     try {
       configuration.injector.inject(test);
     } catch (RuntimeException e) {
-      throw configuration.checker.wrap(e);
+      throw configuration.exception.isInstance(e)
+          ? e
+          : configuration.checker.wrap(e);
     }
   }
 
@@ -128,14 +132,18 @@ public class ConfigurableFacade implements Facade {
   public <T> T spy(T real) {
     Class<T> type = (Class<T>) real.getClass();
     T mock = mock(type);
-    given(willSpy(real), onInstance(mock));
+    configuration.history.add(stubbed(mock, onInstance(mock), willSpy(real)));
     return mock;
   }
 
   public <T> T given(final Handler handler, T mock) {
     return configuration.overrider.override(mock, new Handler() {
       public Object handle(Invocation invocation) {
-        configuration.history.add(stubbed(configuration.wildcarder.matcherize(invocation), handler));
+        configuration.history.add(stubbed(
+            invocation.instance,
+            invocation.method.getName(),
+            configuration.wildcarder.matcherize(invocation),
+            handler));
         return defaultValue(invocation.method.getReturnType());
       }
     });
@@ -358,21 +366,19 @@ public class ConfigurableFacade implements Facade {
     Effect effect = getLastEffect();
     if (effect instanceof Thrown) {
       Thrown thrown = (Thrown) effect;
-      throw assertionError(configuration.pageFormatter
+      throw deferredAssertionError(page()
           .add(header("expected returned"))
           .add(body(objectOrMatcher))
           .add(header("but thrown"))
           .add(body(thrown.throwable))
           .add("\n")
-          .add(printStackTrace(thrown.throwable))
-          .build());
+          .add(stackTrace(thrown.throwable)));
     } else if (effect instanceof ReturnedVoid) {
-      throw assertionError(configuration.pageFormatter
+      throw deferredAssertionError(page()
           .add(header("expected returned"))
           .add(body(objectOrMatcher))
           .add(header("but returned"))
-          .add(body("void"))
-          .build());
+          .add(body("void")));
     }
 
     ReturnedObject returned = (ReturnedObject) effect;
@@ -383,21 +389,19 @@ public class ConfigurableFacade implements Facade {
         && asMatcher(objectOrMatcher).matches(returned.object)) {
       return;
     } else if (objectOrMatcher != null && isDiagnosticMatcher(objectOrMatcher)) {
-      throw assertionError(configuration.pageFormatter
+      throw deferredAssertionError(page()
           .add(header("expected returned"))
           .add(body(objectOrMatcher))
           .add(header("but returned"))
           .add(body(returned.object))
           .add(header("diagnosis"))
-          .add(body(asDiagnosticMatcher(objectOrMatcher).diagnose(returned.object)))
-          .build());
+          .add(body(asDiagnosticMatcher(objectOrMatcher).diagnose(returned.object))));
     } else {
-      throw assertionError(configuration.pageFormatter
+      throw deferredAssertionError(page()
           .add(header("expected returned"))
           .add(body(objectOrMatcher))
           .add(header("but returned"))
-          .add(body(returned.object))
-          .build());
+          .add(body(returned.object)));
     }
   }
 
@@ -437,40 +441,37 @@ public class ConfigurableFacade implements Facade {
     Effect effect = getLastEffect();
     if (effect instanceof Thrown) {
       Thrown thrown = (Thrown) effect;
-      throw assertionError(configuration.pageFormatter
+      throw deferredAssertionError(page()
           .add(header("expected returned"))
           .add(body(""))
           .add(header("but thrown"))
           .add(body(thrown.throwable))
           .add("\n")
-          .add(printStackTrace(thrown.throwable))
-          .build());
+          .add(stackTrace(thrown.throwable)));
     }
   }
 
   public void thenThrown(Object matcher) {
     Effect effect = getLastEffect();
     if (effect instanceof ReturnedObject) {
-      throw assertionError(configuration.pageFormatter
+      throw deferredAssertionError(page()
           .add(header("expected thrown"))
           .add(body(matcher))
           .add(header("but returned"))
-          .add(body(((ReturnedObject) effect).object))
-          .build());
+          .add(body(((ReturnedObject) effect).object)));
     } else if (effect instanceof ReturnedVoid) {
-      throw assertionError(configuration.pageFormatter
+      throw deferredAssertionError(page()
           .add(header("expected thrown"))
           .add(body(matcher))
           .add(header("but returned"))
-          .add(body("void"))
-          .build());
+          .add(body("void")));
     }
 
     Thrown thrown = (Thrown) effect;
     if (asMatcher(matcher).matches(thrown.throwable)) {
       return;
     } else if (isDiagnosticMatcher(matcher)) {
-      throw assertionError(configuration.pageFormatter
+      throw deferredAssertionError(page()
           .add(header("expected thrown"))
           .add(body(matcher))
           .add(header("but thrown"))
@@ -478,113 +479,102 @@ public class ConfigurableFacade implements Facade {
           .add(header("diagnosis"))
           .add(body(asDiagnosticMatcher(matcher).diagnose(thrown.throwable)))
           .add("\n")
-          .add(printStackTrace(thrown.throwable))
-          .build());
+          .add(stackTrace(thrown.throwable)));
     } else {
-      throw assertionError(configuration.pageFormatter
+      throw deferredAssertionError(page()
           .add(header("expected thrown"))
           .add(body(matcher))
           .add(header("but thrown"))
           .add(body(thrown.throwable))
           .add("\n")
-          .add(printStackTrace(thrown.throwable))
-          .build());
+          .add(stackTrace(thrown.throwable)));
     }
   }
 
   public void thenThrown(Throwable throwable) {
     Effect effect = getLastEffect();
     if (effect instanceof ReturnedObject) {
-      throw assertionError(configuration.pageFormatter
+      throw deferredAssertionError(page()
           .add(header("expected thrown"))
           .add(body(throwable))
           .add(header("but returned"))
-          .add(body(((ReturnedObject) effect).object))
-          .build());
+          .add(body(((ReturnedObject) effect).object)));
     } else if (effect instanceof ReturnedVoid) {
-      throw assertionError(configuration.pageFormatter
+      throw deferredAssertionError(page()
           .add(header("expected thrown"))
           .add(body(throwable))
           .add(header("but returned"))
-          .add(body("void"))
-          .build());
+          .add(body("void")));
     }
 
     Thrown thrown = (Thrown) effect;
     if (deepEquals(throwable, thrown.throwable)) {
       return;
     } else {
-      throw assertionError(configuration.pageFormatter
+      throw deferredAssertionError(page()
           .add(header("expected thrown"))
           .add(body(throwable))
           .add(header("but thrown"))
           .add(body(thrown.throwable))
           .add("\n")
-          .add(printStackTrace(thrown.throwable))
-          .build());
+          .add(stackTrace(thrown.throwable)));
     }
   }
 
   public void thenThrown(Class<? extends Throwable> type) {
     Effect effect = getLastEffect();
     if (effect instanceof ReturnedObject) {
-      throw assertionError(configuration.pageFormatter
+      throw deferredAssertionError(page()
           .add(header("expected thrown"))
           .add(body(type.getName()))
           .add(header("but returned"))
-          .add(body(((ReturnedObject) effect).object))
-          .build());
+          .add(body(((ReturnedObject) effect).object)));
     } else if (effect instanceof ReturnedVoid) {
-      throw assertionError(configuration.pageFormatter
+      throw deferredAssertionError(page()
           .add(header("expected thrown"))
           .add(body(type.getName()))
           .add(header("but returned"))
-          .add(body("void"))
-          .build());
+          .add(body("void")));
     }
 
     Thrown thrown = (Thrown) effect;
     if (type.isInstance(thrown.throwable)) {
       return;
     } else {
-      throw assertionError(configuration.pageFormatter
+      throw deferredAssertionError(page()
           .add(header("expected thrown"))
           .add(body(type.getName()))
           .add(header("but thrown"))
           .add(body(thrown.throwable))
           .add("\n")
-          .add(printStackTrace(thrown.throwable))
-          .build());
+          .add(stackTrace(thrown.throwable)));
     }
   }
 
   public void thenThrown() {
     Effect effect = getLastEffect();
     if (effect instanceof ReturnedObject) {
-      throw assertionError(configuration.pageFormatter
+      throw deferredAssertionError(page()
           .add(header("expected thrown"))
           .add(body(""))
           .add(header("but returned"))
-          .add(body(((ReturnedObject) effect).object))
-          .build());
+          .add(body(((ReturnedObject) effect).object)));
     } else if (effect instanceof ReturnedVoid) {
-      throw assertionError(configuration.pageFormatter
+      throw deferredAssertionError(page()
           .add(header("expected thrown"))
           .add(body(""))
           .add(header("but returned"))
-          .add(body("void"))
-          .build());
+          .add(body("void")));
     }
   }
 
   public void then(boolean condition) {
     if (!condition) {
-      throw assertionError(configuration.pageFormatter
+      throw deferredAssertionError(page()
           .add(header("expected"))
           .add(body(true))
           .add(header("but was"))
-          .add(body(false))
-          .build());
+          .add(body(false)));
     }
   }
 
@@ -592,32 +582,29 @@ public class ConfigurableFacade implements Facade {
     if (asMatcher(matcher).matches(object)) {
       return;
     } else if (isDiagnosticMatcher(matcher)) {
-      throw assertionError(configuration.pageFormatter
+      throw deferredAssertionError(page()
           .add(header("expected"))
           .add(body(matcher))
           .add(header("but was"))
           .add(body(object))
           .add(header("diagnosis"))
-          .add(body(asDiagnosticMatcher(matcher).diagnose(object)))
-          .build());
+          .add(body(asDiagnosticMatcher(matcher).diagnose(object))));
     } else {
-      throw assertionError(configuration.pageFormatter
+      throw deferredAssertionError(page()
           .add(header("expected"))
           .add(body(matcher))
           .add(header("but was"))
-          .add(body(object))
-          .build());
+          .add(body(object)));
     }
   }
 
   public void thenEqual(Object object, Object expected) {
     if (!deepEquals(object, expected)) {
-      throw assertionError(configuration.pageFormatter
+      throw deferredAssertionError(page()
           .add(header("expected"))
           .add(body(expected))
           .add(header("but was"))
-          .add(body(object))
-          .build());
+          .add(body(object)));
     }
   }
 
@@ -661,10 +648,20 @@ public class ConfigurableFacade implements Facade {
     configuration.verifier.thenCalledInOrder(invocationMatcher);
   }
 
+  /** reads history first, so buffered invocations are included in its size */
+  public Map<String, Long> metrics() {
+    configuration.history.get();
+    return configuration.metrics.snapshot();
+  }
+
   private Effect getLastEffect() {
     return inspectingHistory.get().get().effect;
   }
 
+  private PageFormatter page() {
+    return configuration.pageFormatter.formatter(configuration.formatter.pinned());
+  }
+
   private static Closure asClosure(final VoidClosure closure) {
     return new Closure() {
       public Object invoke() throws Throwable {
@@ -1,12 +1,18 @@
 package org.testory.plumbing.facade;
 
 import static org.testory.plumbing.PlumbingException.check;
+import static org.testory.plumbing.inject.MakerRegistry.makerRegistry;
 
+import org.testory.common.Metrics;
+import org.testory.common.Nullable;
 import org.testory.common.PageFormatter;
 import org.testory.plumbing.Checker;
 import org.testory.plumbing.Maker;
+import org.testory.plumbing.format.QuietFormatter;
 import org.testory.plumbing.history.History;
 import org.testory.plumbing.inject.Injector;
+import org.testory.plumbing.inject.MakerRegistry;
+import org.testory.plumbing.inject.TypeMaker;
 import org.testory.plumbing.mock.Namer;
 import org.testory.plumbing.wildcard.Wildcarder;
 import org.testory.proxy.extra.Overrider;
@@ -15,6 +21,7 @@ import org.testory.proxy.extra.Overrider;
 public class Configuration {
   public final History history;
   public final Checker checker;
+  public final QuietFormatter formatter;
   public final PageFormatter pageFormatter;
   public final Class<? extends RuntimeException> exception;
   public final Overrider overrider;
@@ -23,197 +30,159 @@ public class Configuration {
   public final Injector injector;
   public final Wildcarder wildcarder;
   public final Facade verifier;
-
-  private Configuration(
-      History history,
-      Checker checker,
-      PageFormatter pageFormatter,
-      Class<? extends RuntimeException> exception,
-      Overrider overrider,
-      Namer mockNamer,
-      Maker mockMaker,
-      Injector injector,
-      Wildcarder wildcarder,
-      Facade verifier) {
-    this.history = history;
-    this.checker = checker;
-    this.pageFormatter = pageFormatter;
-    this.exception = exception;
-    this.overrider = overrider;
-    this.mockNamer = mockNamer;
-    this.mockMaker = mockMaker;
-    this.injector = injector;
-    this.wildcarder = wildcarder;
-    this.verifier = verifier;
+  public final Metrics metrics;
+  public final MakerRegistry makers;
+  @Nullable
+  public final Integer historyLimit;
+  public final int messageLimit;
+  public final boolean buffered;
+
+  private Configuration(Builder builder) {
+    this.history = builder.history;
+    this.checker = builder.checker;
+    this.formatter = builder.formatter;
+    this.pageFormatter = builder.pageFormatter;
+    this.exception = builder.exception;
+    this.overrider = builder.overrider;
+    this.mockNamer = builder.mockNamer;
+    this.mockMaker = builder.mockMaker;
+    this.injector = builder.injector;
+    this.wildcarder = builder.wildcarder;
+    this.verifier = builder.verifier;
+    this.metrics = builder.metrics;
+    this.makers = builder.makers;
+    this.historyLimit = builder.historyLimit;
+    this.messageLimit = builder.messageLimit;
+    this.buffered = builder.buffered;
   }
 
   public static Configuration configuration() {
-    return new Configuration(
-        null,
-        null,
-        null,
-        null,
-        null,
-        null,
-        null,
-        null,
-        null,
-        null);
+    Builder builder = new Builder();
+    builder.makers = makerRegistry();
+    builder.messageLimit = 100;
+    return new Configuration(builder);
   }
 
   public Configuration history(History history) {
     check(history != null);
-    return new Configuration(
-        history,
-        checker,
-        pageFormatter,
-        exception,
-        overrider,
-        mockNamer,
-        mockMaker,
-        injector,
-        wildcarder,
-        verifier);
+    Builder builder = builder();
+    builder.history = history;
+    return new Configuration(builder);
   }
 
   public Configuration checker(Checker checker) {
     check(checker != null);
-    return new Configuration(
-        history,
-        checker,
-        pageFormatter,
-        exception,
-        overrider,
-        mockNamer,
-        mockMaker,
-        injector,
-        wildcarder,
-        verifier);
+    Builder builder = builder();
+    builder.checker = checker;
+    return new Configuration(builder);
+  }
+
+  public Configuration formatter(QuietFormatter formatter) {
+    check(formatter != null);
+    Builder builder = builder();
+    builder.formatter = formatter;
+    return new Configuration(builder);
   }
 
   public Configuration pageFormatter(PageFormatter pageFormatter) {
     check(pageFormatter != null);
-    return new Configuration(
-        history,
-        checker,
-        pageFormatter,
-        exception,
-        overrider,
-        mockNamer,
-        mockMaker,
-        injector,
-        wildcarder,
-        verifier);
+    Builder builder = builder();
+    builder.pageFormatter = pageFormatter;
+    return new Configuration(builder);
   }
 
   public Configuration exception(Class<? extends RuntimeException> exception) {
     check(exception != null);
-    return new Configuration(
-        history,
-        checker,
-        pageFormatter,
-        exception,
-        overrider,
-        mockNamer,
-        mockMaker,
-        injector,
-        wildcarder,
-        verifier);
+    Builder builder = builder();
+    builder.exception = exception;
+    return new Configuration(builder);
   }
 
   public Configuration overrider(Overrider overrider) {
     check(overrider != null);
-    return new Configuration(
-        history,
-        checker,
-        pageFormatter,
-        exception,
-        overrider,
-        mockNamer,
-        mockMaker,
-        injector,
-        wildcarder,
-        verifier);
+    Builder builder = builder();
+    builder.overrider = overrider;
+    return new Configuration(builder);
   }
 
   public Configuration mockNamer(Namer mockNamer) {
     check(mockNamer != null);
-    return new Configuration(
-        history,
-        checker,
-        pageFormatter,
-        exception,
-        overrider,
-        mockNamer,
-        mockMaker,
-        injector,
-        wildcarder,
-        verifier);
+    Builder builder = builder();
+    builder.mockNamer = mockNamer;
+    return new Configuration(builder);
   }
 
   public Configuration mockMaker(Maker mockMaker) {
     check(mockMaker != null);
-    return new Configuration(
-        history,
-        checker,
-        pageFormatter,
-        exception,
-        overrider,
-        mockNamer,
-        mockMaker,
-        injector,
-        wildcarder,
-        verifier);
+    Builder builder = builder();
+    builder.mockMaker = mockMaker;
+    return new Configuration(builder);
   }
 
   public Configuration injector(Injector injector) {
     check(injector != null);
-    return new Configuration(
-        history,
-        checker,
-        pageFormatter,
-        exception,
-        overrider,
-        mockNamer,
-        mockMaker,
-        injector,
-        wildcarder,
-        verifier);
+    Builder builder = builder();
+    builder.injector = injector;
+    return new Configuration(builder);
   }
 
   public Configuration wildcarder(Wildcarder wildcarder) {
     check(wildcarder != null);
-    return new Configuration(
-        history,
-        checker,
-        pageFormatter,
-        exception,
-        overrider,
-        mockNamer,
-        mockMaker,
-        injector,
-        wildcarder,
-        verifier);
+    Builder builder = builder();
+    builder.wildcarder = wildcarder;
+    return new Configuration(builder);
   }
 
   public Configuration verifier(Facade verifier) {
     check(verifier != null);
-    return new Configuration(
-        history,
-        checker,
-        pageFormatter,
-        exception,
-        overrider,
-        mockNamer,
-        mockMaker,
-        injector,
-        wildcarder,
-        verifier);
+    Builder builder = builder();
+    builder.verifier = verifier;
+    return new Configuration(builder);
+  }
+
+  public Configuration metrics(Metrics metrics) {
+    check(metrics != null);
+    Builder builder = builder();
+    builder.metrics = metrics;
+    return new Configuration(builder);
+  }
+
+  public Configuration register(Class<?> type, Maker maker) {
+    Builder builder = builder();
+    builder.makers = makers.register(type, maker);
+    return new Configuration(builder);
+  }
+
+  public Configuration register(TypeMaker maker) {
+    Builder builder = builder();
+    builder.makers = makers.register(maker);
+    return new Configuration(builder);
+  }
+
+  public Configuration historyLimit(int historyLimit) {
+    check(historyLimit > 0);
+    Builder builder = builder();
+    builder.historyLimit = historyLimit;
+    return new Configuration(builder);
+  }
+
+  public Configuration messageLimit(int messageLimit) {
+    check(messageLimit > 1);
+    Builder builder = builder();
+    builder.messageLimit = messageLimit;
+    return new Configuration(builder);
+  }
+
+  public Configuration buffered(boolean buffered) {
+    Builder builder = builder();
+    builder.buffered = buffered;
+    return new Configuration(builder);
   }
 
   public Configuration validate() {
     check(history != null);
     check(checker != null);
+    check(formatter != null);
     check(pageFormatter != null);
     check(exception != null);
     check(overrider != null);
@@ -222,6 +191,49 @@ public class Configuration {
     check(injector != null);
     check(wildcarder != null);
     check(verifier != null);
+    check(metrics != null);
+    check(makers != null);
     return this;
   }
+
+  private Builder builder() {
+    Builder builder = new Builder();
+    builder.history = history;
+    builder.checker = checker;
+    builder.formatter = formatter;
+    builder.pageFormatter = pageFormatter;
+    builder.exception = exception;
+    builder.overrider = overrider;
+    builder.mockNamer = mockNamer;
+    builder.mockMaker = mockMaker;
+    builder.injector = injector;
+    builder.wildcarder = wildcarder;
+    builder.verifier = verifier;
+    builder.metrics = metrics;
+    builder.makers = makers;
+    builder.historyLimit = historyLimit;
+    builder.messageLimit = messageLimit;
+    builder.buffered = buffered;
+    return builder;
+  }
+
+  /** mutable copy of all fields, so that each setter changes only its own field */
+  private static class Builder {
+    History history;
+    Checker checker;
+    QuietFormatter formatter;
+    PageFormatter pageFormatter;
+    Class<? extends RuntimeException> exception;
+    Overrider overrider;
+    Namer mockNamer;
+    Maker mockMaker;
+    Injector injector;
+    Wildcarder wildcarder;
+    Facade verifier;
+    Metrics metrics;
+    MakerRegistry makers;
+    Integer historyLimit;
+    int messageLimit;
+    boolean buffered;
+  }
 }
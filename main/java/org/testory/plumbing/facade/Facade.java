@@ -1,5 +1,7 @@
 package org.testory.plumbing.facade;
 
+import java.util.Map;
+
 import org.testory.common.Closure;
 import org.testory.common.Named;
 import org.testory.common.Nullable;
@@ -155,4 +157,6 @@ public interface Facade {
   <T> T thenCalledInOrder(@Named("mock") T mock);
 
   void thenCalledInOrder(InvocationMatcher invocationMatcher);
+
+  Map<String, Long> metrics();
 }
@@ -2,61 +2,405 @@ package org.testory.plumbing.facade;
 
 import static org.testory.common.Chain.chain;
 import static org.testory.plumbing.PlumbingException.check;
-import static org.testory.proxy.Invocation.invocation;
-import static org.testory.proxy.Typing.implementing;
 
-import java.lang.reflect.Method;
+import java.util.Map;
 
 import org.testory.common.Chain;
+import org.testory.common.Closure;
+import org.testory.common.VoidClosure;
 import org.testory.plumbing.history.History;
+import org.testory.plumbing.wildcard.Wildcarder;
 import org.testory.proxy.Handler;
 import org.testory.proxy.Invocation;
-import org.testory.proxy.Proxer;
+import org.testory.proxy.InvocationMatcher;
 
-public class PurgingFacade {
-  public static Facade purging(final History history, Proxer proxer, final Facade facade) {
+public class PurgingFacade implements Facade {
+  private final History history;
+  private final Wildcarder wildcarder;
+  private final Facade facade;
+  private Word lastWord = Word.GIVEN;
+  private Chain<Object> lastEvents = chain();
+
+  private PurgingFacade(History history, Wildcarder wildcarder, Facade facade) {
+    this.history = history;
+    this.wildcarder = wildcarder;
+    this.facade = facade;
+  }
+
+  public static Facade purging(History history, Wildcarder wildcarder, Facade facade) {
     check(history != null);
-    check(proxer != null);
+    check(wildcarder != null);
     check(facade != null);
-    return (Facade) proxer.proxy(implementing(Facade.class), new Handler() {
-      private Word lastWord = Word.GIVEN;
-      private Chain<Object> lastEvents = chain();
-
-      public Object handle(Invocation invocation) throws Throwable {
-        Word word = wordFor(invocation.method);
-        if (word != null) {
-          if (requiresPurge(lastWord, word)) {
-            purge();
-          }
-          lastWord = word;
-          lastEvents = history.get();
-        }
-        return invocation(invocation.method, facade, invocation.arguments).invoke();
-      }
+    return new PurgingFacade(history, wildcarder, facade);
+  }
+
+  public void givenTest(Object test) {
+    say(Word.GIVEN);
+    facade.givenTest(test);
+  }
+
+  public void given(Closure closure) {
+    say(Word.GIVEN);
+    facade.given(closure);
+  }
+
+  public void given(VoidClosure closure) {
+    say(Word.GIVEN);
+    facade.given(closure);
+  }
+
+  public <T> T given(T object) {
+    say(Word.GIVEN);
+    return facade.given(object);
+  }
+
+  public void given(boolean primitive) {
+    say(Word.GIVEN);
+    facade.given(primitive);
+  }
+
+  public void given(double primitive) {
+    say(Word.GIVEN);
+    facade.given(primitive);
+  }
+
+  public <T> T givenTry(T object) {
+    say(Word.GIVEN);
+    return facade.givenTry(object);
+  }
+
+  public void givenTimes(int number, Closure closure) {
+    say(Word.GIVEN);
+    facade.givenTimes(number, closure);
+  }
+
+  public void givenTimes(int number, VoidClosure closure) {
+    say(Word.GIVEN);
+    facade.givenTimes(number, closure);
+  }
+
+  public <T> T givenTimes(int number, T object) {
+    say(Word.GIVEN);
+    return facade.givenTimes(number, object);
+  }
+
+  public <T> T mock(Class<T> type) {
+    return facade.mock(type);
+  }
+
+  public <T> T spy(T real) {
+    return facade.spy(real);
+  }
+
+  public <T> T given(Handler handler, T mock) {
+    say(Word.GIVEN);
+    return facade.given(handler, mock);
+  }
+
+  public void given(Handler handler, InvocationMatcher invocationMatcher) {
+    say(Word.GIVEN);
+    facade.given(handler, invocationMatcher);
+  }
+
+  public Handler willReturn(Object object) {
+    return facade.willReturn(object);
+  }
+
+  public Handler willThrow(Throwable throwable) {
+    return facade.willThrow(throwable);
+  }
+
+  public Handler willRethrow(Throwable throwable) {
+    return facade.willRethrow(throwable);
+  }
+
+  public Handler willSpy(Object real) {
+    return facade.willSpy(real);
+  }
+
+  public <T> T any(Class<T> type) {
+    return facade.any(type);
+  }
+
+  public <T> T any(Class<T> type, Object matcher) {
+    return facade.any(type, matcher);
+  }
+
+  public <T> T anyInstanceOf(Class<T> type) {
+    return facade.anyInstanceOf(type);
+  }
+
+  public boolean a(boolean value) {
+    return facade.a(value);
+  }
+
+  public char a(char value) {
+    return facade.a(value);
+  }
+
+  public byte a(byte value) {
+    return facade.a(value);
+  }
+
+  public short a(short value) {
+    return facade.a(value);
+  }
+
+  public int a(int value) {
+    return facade.a(value);
+  }
+
+  public long a(long value) {
+    return facade.a(value);
+  }
+
+  public float a(float value) {
+    return facade.a(value);
+  }
+
+  public double a(double value) {
+    return facade.a(value);
+  }
+
+  public <T> T a(T value) {
+    return facade.a(value);
+  }
+
+  public <T> T the(T value) {
+    return facade.the(value);
+  }
+
+  public void the(boolean value) {
+    facade.the(value);
+  }
+
+  public void the(double value) {
+    facade.the(value);
+  }
+
+  public InvocationMatcher onInstance(Object mock) {
+    return facade.onInstance(mock);
+  }
+
+  public InvocationMatcher onReturn(Class<?> type) {
+    return facade.onReturn(type);
+  }
+
+  public InvocationMatcher onRequest(Class<?> type, Object... arguments) {
+    return facade.onRequest(type, arguments);
+  }
+
+  public <T> T when(T object) {
+    say(Word.WHEN);
+    return facade.when(object);
+  }
+
+  public void when(Closure closure) {
+    say(Word.WHEN);
+    facade.when(closure);
+  }
+
+  public void when(VoidClosure closure) {
+    say(Word.WHEN);
+    facade.when(closure);
+  }
+
+  public void when(boolean value) {
+    say(Word.WHEN);
+    facade.when(value);
+  }
+
+  public void when(char value) {
+    say(Word.WHEN);
+    facade.when(value);
+  }
+
+  public void when(byte value) {
+    say(Word.WHEN);
+    facade.when(value);
+  }
+
+  public void when(short value) {
+    say(Word.WHEN);
+    facade.when(value);
+  }
+
+  public void when(int value) {
+    say(Word.WHEN);
+    facade.when(value);
+  }
+
+  public void when(long value) {
+    say(Word.WHEN);
+    facade.when(value);
+  }
+
+  public void when(float value) {
+    say(Word.WHEN);
+    facade.when(value);
+  }
+
+  public void when(double value) {
+    say(Word.WHEN);
+    facade.when(value);
+  }
+
+  public void thenReturned(Object objectOrMatcher) {
+    say(Word.THEN);
+    facade.thenReturned(objectOrMatcher);
+  }
+
+  public void thenReturned(boolean value) {
+    say(Word.THEN);
+    facade.thenReturned(value);
+  }
+
+  public void thenReturned(char value) {
+    say(Word.THEN);
+    facade.thenReturned(value);
+  }
+
+  public void thenReturned(byte value) {
+    say(Word.THEN);
+    facade.thenReturned(value);
+  }
+
+  public void thenReturned(short value) {
+    say(Word.THEN);
+    facade.thenReturned(value);
+  }
+
+  public void thenReturned(int value) {
+    say(Word.THEN);
+    facade.thenReturned(value);
+  }
+
+  public void thenReturned(long value) {
+    say(Word.THEN);
+    facade.thenReturned(value);
+  }
+
+  public void thenReturned(float value) {
+    say(Word.THEN);
+    facade.thenReturned(value);
+  }
+
+  public void thenReturned(double value) {
+    say(Word.THEN);
+    facade.thenReturned(value);
+  }
+
+  public void thenReturned() {
+    say(Word.THEN);
+    facade.thenReturned();
+  }
+
+  public void thenThrown(Object matcher) {
+    say(Word.THEN);
+    facade.thenThrown(matcher);
+  }
+
+  public void thenThrown(Throwable throwable) {
+    say(Word.THEN);
+    facade.thenThrown(throwable);
+  }
+
+  public void thenThrown(Class<? extends Throwable> type) {
+    say(Word.THEN);
+    facade.thenThrown(type);
+  }
+
+  public void thenThrown() {
+    say(Word.THEN);
+    facade.thenThrown();
+  }
+
+  public void then(boolean condition) {
+    say(Word.THEN);
+    facade.then(condition);
+  }
+
+  public void then(Object object, Object matcher) {
+    say(Word.THEN);
+    facade.then(object, matcher);
+  }
+
+  public void thenEqual(Object object, Object expected) {
+    say(Word.THEN);
+    facade.thenEqual(object, expected);
+  }
+
+  public <T> T thenCalled(T mock) {
+    say(Word.THEN);
+    return facade.thenCalled(mock);
+  }
+
+  public void thenCalled(InvocationMatcher invocationMatcher) {
+    say(Word.THEN);
+    facade.thenCalled(invocationMatcher);
+  }
+
+  public <T> T thenCalledNever(T mock) {
+    say(Word.THEN);
+    return facade.thenCalledNever(mock);
+  }
+
+  public void thenCalledNever(InvocationMatcher invocationMatcher) {
+    say(Word.THEN);
+    facade.thenCalledNever(invocationMatcher);
+  }
+
+  public <T> T thenCalledTimes(int number, T mock) {
+    say(Word.THEN);
+    return facade.thenCalledTimes(number, mock);
+  }
+
+  public void thenCalledTimes(int number, InvocationMatcher invocationMatcher) {
+    say(Word.THEN);
+    facade.thenCalledTimes(number, invocationMatcher);
+  }
+
+  public <T> T thenCalledTimes(Object numberMatcher, T mock) {
+    say(Word.THEN);
+    return facade.thenCalledTimes(numberMatcher, mock);
+  }
+
+  public void thenCalledTimes(Object numberMatcher, InvocationMatcher invocationMatcher) {
+    say(Word.THEN);
+    facade.thenCalledTimes(numberMatcher, invocationMatcher);
+  }
+
+  public <T> T thenCalledInOrder(T mock) {
+    say(Word.THEN);
+    return facade.thenCalledInOrder(mock);
+  }
+
+  public void thenCalledInOrder(InvocationMatcher invocationMatcher) {
+    say(Word.THEN);
+    facade.thenCalledInOrder(invocationMatcher);
+  }
+
+  public Map<String, Long> metrics() {
+    return facade.metrics();
+  }
+
+  private void say(Word word) {
+    if (requiresPurge(lastWord, word)) {
+      purge();
+      wildcarder.purge();
+    }
+    lastWord = word;
+    lastEvents = history.get();
+  }
 
-      private void purge() {
-        Chain<Object> chain = history.get();
-        while (chain.size() > 0) {
-          if (chain == lastEvents || chain.get() instanceof Invocation) {
-            history.cut(chain);
-            break;
-          }
-          chain = chain.remove();
-        }
+  private void purge() {
+    Chain<Object> chain = history.get();
+    while (chain.size() > 0) {
+      if (chain == lastEvents || chain.get() instanceof Invocation) {
+        history.cut(chain);
+        break;
       }
-    });
-  }
-
-  private static Word wordFor(Method method) {
-    String methodName = method.getName();
-    if (methodName.startsWith("given")) {
-      return Word.GIVEN;
-    } else if (methodName.startsWith("when")) {
-      return Word.WHEN;
-    } else if (methodName.startsWith("then")) {
-      return Word.THEN;
-    } else {
-      return null;
+      chain = chain.remove();
     }
   }
 
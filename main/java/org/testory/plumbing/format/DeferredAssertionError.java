@@ -0,0 +1,40 @@
+package org.testory.plumbing.format;
+
+import static org.testory.plumbing.PlumbingException.check;
+
+import org.testory.TestoryAssertionError;
+import org.testory.common.PageFormatter;
+
+/**
+ * Page is built when message is first read, so errors that are caught and discarded cost no
+ * formatting. Objects on page are formatted as they are at that time, but mocks keep names they had
+ * when error was created.
+ */
+public class DeferredAssertionError extends TestoryAssertionError {
+  private static final long serialVersionUID = 1L;
+
+  private transient PageFormatter page;
+  private String message;
+
+  private DeferredAssertionError(PageFormatter page) {
+    this.page = page;
+  }
+
+  public static TestoryAssertionError deferredAssertionError(PageFormatter page) {
+    check(page != null);
+    return new DeferredAssertionError(page);
+  }
+
+  public synchronized String getMessage() {
+    if (page != null) {
+      message = page.build();
+      page = null;
+    }
+    return message;
+  }
+
+  private Object writeReplace() {
+    getMessage();
+    return this;
+  }
+}
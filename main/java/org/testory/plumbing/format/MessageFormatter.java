@@ -1,6 +1,7 @@
 package org.testory.plumbing.format;
 
 import static org.testory.common.SequenceFormatter.sequence;
+import static org.testory.common.Throwables.printStackTrace;
 import static org.testory.plumbing.format.Body.body;
 
 import org.testory.common.Formatter;
@@ -24,6 +25,8 @@ public class MessageFormatter extends ObjectFormatter {
       return format((Body) object);
     } else if (object instanceof Multiline) {
       return format((Multiline) object);
+    } else if (object instanceof StackTrace) {
+      return printStackTrace(((StackTrace) object).throwable);
     } else {
       return super.format(object);
     }
@@ -1,83 +1,119 @@
 package org.testory.plumbing.format;
 
 import static org.testory.plumbing.PlumbingException.check;
-import static org.testory.plumbing.history.FilteredHistory.filter;
-import static org.testory.plumbing.mock.Stubbed.stubbed;
+import static org.testory.plumbing.mock.MockedIndex.mockedIndex;
 
 import org.testory.common.Chain;
 import org.testory.common.Formatter;
 import org.testory.common.Nullable;
-import org.testory.plumbing.history.FilteredHistory;
+import org.testory.common.Optional;
 import org.testory.plumbing.history.History;
 import org.testory.plumbing.mock.Mocked;
-import org.testory.plumbing.mock.Stubbed;
+import org.testory.plumbing.mock.MockedIndex;
 import org.testory.proxy.Handler;
 import org.testory.proxy.Invocation;
-import org.testory.proxy.InvocationMatcher;
+import org.testory.proxy.Proxer;
+import org.testory.proxy.Typing;
 
+/**
+ * Formatting state is kept per thread, so mocks invoked by other threads are still recorded. Mocks
+ * are named from history, or from index frozen by {@link #pinned()}.
+ */
 public class QuietFormatter implements Formatter {
   private final Formatter formatter;
+  private final MockedIndex mockedIndex;
 
-  private int isFormatting = 0;
+  private final ThreadLocal<Integer> isFormatting = new ThreadLocal<Integer>() {
+    protected Integer initialValue() {
+      return 0;
+    }
+  };
+  private final ThreadLocal<MockedIndex> pinned = new ThreadLocal<>();
 
-  private QuietFormatter(Formatter formatter) {
+  private QuietFormatter(Formatter formatter, History history) {
     this.formatter = formatter;
+    this.mockedIndex = mockedIndex(history);
   }
 
-  public static QuietFormatter quiet(Formatter formatter) {
+  public static QuietFormatter quiet(Formatter formatter, History history) {
     check(formatter != null);
-    return new QuietFormatter(formatter);
+    check(history != null);
+    return new QuietFormatter(formatter, history);
   }
 
   public String format(@Nullable Object object) {
-    isFormatting++;
+    isFormatting.set(isFormatting.get() + 1);
     try {
       return formatter.format(object);
     } finally {
-      isFormatting--;
+      isFormatting.set(isFormatting.get() - 1);
     }
   }
 
+  /** names mocks as they are named now, even if formatting is done after history is purged */
+  public Formatter pinned() {
+    final MockedIndex frozen = mockedIndex.frozen();
+    return new Formatter() {
+      public String format(@Nullable Object object) {
+        MockedIndex previous = pinned.get();
+        pinned.set(frozen);
+        try {
+          return QuietFormatter.this.format(object);
+        } finally {
+          pinned.set(previous);
+        }
+      }
+    };
+  }
+
   public History quiet(final History history) {
     check(history != null);
-    final Stubbed stubbedToString = stubbedToString(history);
     return new History() {
       public Chain<Object> get() {
-        return isFormatting == 0
-            ? history.get()
-            : history.get().add(stubbedToString);
+        return history.get();
       }
 
       public void add(Object event) {
-        if (isFormatting == 0) {
+        if (isFormatting.get() == 0) {
           history.add(event);
         }
       }
 
       public void cut(Chain<Object> tail) {
-        if (isFormatting == 0) {
+        if (isFormatting.get() == 0) {
           history.cut(tail);
         }
       }
     };
   }
 
-  private static Stubbed stubbedToString(History history) {
-    final FilteredHistory<Mocked> mockedHistory = filter(Mocked.class, history);
-    return stubbed(new InvocationMatcher() {
-      public boolean matches(Invocation invocation) {
-        return invocation.method.getName().equals("toString")
-            && invocation.method.getParameterTypes().length == 0;
-      }
-    }, new Handler() {
-      public Object handle(Invocation invocation) {
-        for (Mocked mocked : mockedHistory.get()) {
-          if (mocked.mock == invocation.instance) {
-            return mocked.name;
+  public Proxer quiet(final Proxer proxer) {
+    check(proxer != null);
+    return new Proxer() {
+      public Object proxy(Typing typing, final Handler handler) {
+        return proxer.proxy(typing, new Handler() {
+          public Object handle(Invocation invocation) throws Throwable {
+            return isFormatting.get() > 0 && isToString(invocation)
+                ? nameOf(invocation.instance)
+                : handler.handle(invocation);
           }
-        }
-        return "unknownMock";
+        });
+      }
+
+      private String nameOf(Object mock) {
+        MockedIndex index = pinned.get() == null
+            ? mockedIndex
+            : pinned.get();
+        Optional<Mocked> mocked = index.get(mock);
+        return mocked.isPresent()
+            ? mocked.get().name
+            : "unknownMock";
       }
-    });
+    };
+  }
+
+  private static boolean isToString(Invocation invocation) {
+    return invocation.method.getName().equals("toString")
+        && invocation.method.getParameterTypes().length == 0;
   }
 }
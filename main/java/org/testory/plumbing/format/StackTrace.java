@@ -0,0 +1,13 @@
+package org.testory.plumbing.format;
+
+public class StackTrace {
+  public final Throwable throwable;
+
+  private StackTrace(Throwable throwable) {
+    this.throwable = throwable;
+  }
+
+  public static StackTrace stackTrace(Throwable throwable) {
+    return new StackTrace(throwable);
+  }
+}
@@ -0,0 +1,137 @@
+package org.testory.plumbing.history;
+
+import static org.testory.plumbing.PlumbingException.check;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.testory.common.Chain;
+import org.testory.proxy.Invocation;
+
+/**
+ * Invocations are recorded into buffer of calling thread and tagged with global sequence number.
+ * Buffers are merged into recorded history in sequence order, only when someone reads history or
+ * adds other event. Until then recorded history already contains all events except invocations.
+ * Taking sequence number and buffering invocation is done under shared lock, while merging is done
+ * under exclusive lock, so merge never misses invocation that is numbered before merged ones.
+ */
+public class BufferedHistory implements History {
+  private static final Comparator<Sequenced> bySequence = new Comparator<Sequenced>() {
+    public int compare(Sequenced first, Sequenced second) {
+      return Long.compare(first.sequence, second.sequence);
+    }
+  };
+
+  private final History recorded;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final AtomicLong sequence = new AtomicLong();
+  /** all invocations numbered below are already recorded */
+  private volatile long merged = 0;
+  private final Queue<Buffer> buffers = new ConcurrentLinkedQueue<>();
+  private final ThreadLocal<Buffer> localBuffer = new ThreadLocal<Buffer>() {
+    protected Buffer initialValue() {
+      Buffer buffer = new Buffer(Thread.currentThread());
+      buffers.add(buffer);
+      return buffer;
+    }
+  };
+
+  private BufferedHistory(History recorded) {
+    this.recorded = recorded;
+  }
+
+  public static History buffered(History recorded) {
+    check(recorded != null);
+    return new BufferedHistory(recorded);
+  }
+
+  public Chain<Object> get() {
+    if (sequence.get() != merged) {
+      lock.writeLock().lock();
+      try {
+        merge();
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+    return recorded.get();
+  }
+
+  public void add(Object event) {
+    check(event != null);
+    if (event instanceof Invocation) {
+      Buffer buffer = localBuffer.get();
+      lock.readLock().lock();
+      try {
+        buffer.events.add(new Sequenced(sequence.getAndIncrement(), event));
+      } finally {
+        lock.readLock().unlock();
+      }
+    } else {
+      lock.writeLock().lock();
+      try {
+        merge();
+        recorded.add(event);
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+  }
+
+  public void cut(Chain<Object> tail) {
+    check(tail != null);
+    lock.writeLock().lock();
+    try {
+      merge();
+      recorded.cut(tail);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void merge() {
+    List<Sequenced> merging = new ArrayList<>();
+    for (Iterator<Buffer> iterator = buffers.iterator(); iterator.hasNext();) {
+      Buffer buffer = iterator.next();
+      boolean isAlive = buffer.owner.isAlive();
+      for (Sequenced sequenced; (sequenced = buffer.events.poll()) != null;) {
+        merging.add(sequenced);
+      }
+      if (!isAlive) {
+        iterator.remove();
+      }
+    }
+    Collections.sort(merging, bySequence);
+    for (Sequenced sequenced : merging) {
+      recorded.add(sequenced.event);
+    }
+    merged = sequence.get();
+  }
+
+  private static class Buffer {
+    final Thread owner;
+    final Queue<Sequenced> events = new ConcurrentLinkedQueue<>();
+
+    Buffer(Thread owner) {
+      this.owner = owner;
+    }
+  }
+
+  private static class Sequenced {
+    final long sequence;
+    final Object event;
+
+    Sequenced(long sequence, Object event) {
+      this.sequence = sequence;
+      this.event = event;
+    }
+  }
+}
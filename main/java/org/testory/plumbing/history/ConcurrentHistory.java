@@ -0,0 +1,220 @@
+package org.testory.plumbing.history;
+
+import static org.testory.common.Chain.chain;
+import static org.testory.plumbing.PlumbingException.check;
+import static org.testory.plumbing.history.Truncated.truncated;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testory.common.Chain;
+import org.testory.proxy.Invocation;
+
+/**
+ * History that is safe to use by many threads without locking. If bounded, history keeps at most
+ * limit of newest invocations. Once there are more of them, older invocations are replaced by
+ * {@link Truncated} event counting them, so that only half of limit is kept and truncating is
+ * amortized over following invocations. Truncated invocations are still counted by matchers that
+ * accept any arguments. One thread at a time truncates, while others keep adding.
+ * Events they add during truncation are put on top of truncated chain and counted towards next
+ * truncation.
+ */
+public class ConcurrentHistory implements History {
+  private final AtomicReference<Chain<Object>> events = new AtomicReference<>(chain());
+  private final AtomicInteger invocations = new AtomicInteger();
+  private final AtomicBoolean truncating = new AtomicBoolean();
+  private final int limit;
+
+  private ConcurrentHistory(int limit) {
+    this.limit = limit;
+  }
+
+  public static History newConcurrentHistory() {
+    return new ConcurrentHistory(Integer.MAX_VALUE);
+  }
+
+  public static History newConcurrentHistory(int invocationsLimit) {
+    check(invocationsLimit > 0);
+    return new ConcurrentHistory(invocationsLimit);
+  }
+
+  public Chain<Object> get() {
+    return events.get();
+  }
+
+  public void add(Object event) {
+    check(event != null);
+    Chain<Object> current;
+    do {
+      current = events.get();
+    } while (!events.compareAndSet(current, current.add(event)));
+    if (event instanceof Invocation && limit < Integer.MAX_VALUE
+        && invocations.incrementAndGet() > limit && truncating.compareAndSet(false, true)) {
+      try {
+        truncate(limit - limit / 2);
+      } finally {
+        truncating.set(false);
+      }
+    }
+  }
+
+  /** events added while truncating are put on top of truncated chain, not truncated again */
+  private void truncate(int kept) {
+    Chain<Object> base = events.get();
+    Chain<Object> truncated = truncate(base, kept);
+    int removed = Math.max(0, countInvocations(base) - kept);
+    while (!events.compareAndSet(base, truncated)) {
+      Chain<Object> current = events.get();
+      Chain<Object> iterating = current;
+      Chain<Object> newer = chain();
+      while (iterating.size() > base.size()) {
+        newer = newer.add(iterating.get());
+        iterating = iterating.remove();
+      }
+      if (iterating == base) {
+        truncated = truncated.addAll(newer);
+      } else {
+        truncated = truncate(current, kept);
+        removed = Math.max(0, countInvocations(current) - kept);
+      }
+      base = current;
+    }
+    invocations.addAndGet(-removed);
+  }
+
+  public void cut(Chain<Object> tail) {
+    check(tail != null);
+    Chain<Object> current;
+    Chain<Object> cut;
+    do {
+      current = events.get();
+      cut = cut(current, tail);
+    } while (!events.compareAndSet(current, cut));
+    if (limit < Integer.MAX_VALUE) {
+      invocations.set(countInvocations(cut));
+    }
+  }
+
+  private static Chain<Object> cut(Chain<Object> events, Chain<Object> tail) {
+    Chain<Object> iterating = events;
+    Chain<Object> iterated = chain();
+    while (iterating.size() > 0) {
+      if (iterating == tail || tail.size() > 0 && iterating.get() == tail.get()) {
+        return iterated.reverse();
+      }
+      iterated = iterated.add(iterating.get());
+      iterating = iterating.remove();
+    }
+    return tail.size() == 0
+        ? events
+        : without(events, tail);
+  }
+
+  /**
+   * Truncation rebuilt chain after tail was read, so events of tail are found by identity. Truncated
+   * counts are carried forward, except for invocations of tail that were truncated since.
+   */
+  private static Chain<Object> without(Chain<Object> events, Chain<Object> tail) {
+    Set<Object> removed = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+    for (Object event : tail) {
+      removed.add(event);
+    }
+    Set<Object> present = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+    Map<Object, Map<Method, Integer>> counts = new IdentityHashMap<>();
+    Chain<Object> iterated = chain();
+    for (Object event : events) {
+      present.add(event);
+      if (event instanceof Truncated) {
+        count(counts, (Truncated) event, 1);
+      } else if (!removed.contains(event)) {
+        iterated = iterated.add(event);
+      }
+    }
+    for (Object event : tail) {
+      if (event instanceof Truncated) {
+        count(counts, (Truncated) event, -1);
+      } else if (event instanceof Invocation && !present.contains(event)) {
+        Invocation invocation = (Invocation) event;
+        count(counts, invocation.instance, invocation.method, -1);
+      }
+    }
+    return folded(counts).addAll(iterated);
+  }
+
+  private static int countInvocations(Chain<Object> events) {
+    int count = 0;
+    for (Object event : events) {
+      if (event instanceof Invocation) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static Chain<Object> truncate(Chain<Object> events, int limit) {
+    Map<Object, Map<Method, Integer>> counts = new IdentityHashMap<>();
+    int kept = 0;
+    Chain<Object> iterated = chain();
+    for (Object event : events) {
+      if (event instanceof Invocation && kept < limit) {
+        iterated = iterated.add(event);
+        kept++;
+      } else if (event instanceof Invocation) {
+        Invocation invocation = (Invocation) event;
+        count(counts, invocation.instance, invocation.method, 1);
+      } else if (event instanceof Truncated) {
+        count(counts, (Truncated) event, 1);
+      } else {
+        iterated = iterated.add(event);
+      }
+    }
+    return folded(counts).addAll(iterated);
+  }
+
+  /** chain with single event counting positive counts, or empty chain if there are none */
+  private static Chain<Object> folded(Map<Object, Map<Method, Integer>> counts) {
+    Map<Object, Map<Method, Integer>> positive = new IdentityHashMap<>();
+    int size = 0;
+    for (Entry<Object, Map<Method, Integer>> instance : counts.entrySet()) {
+      for (Entry<Method, Integer> method : instance.getValue().entrySet()) {
+        if (method.getValue() > 0) {
+          count(positive, instance.getKey(), method.getKey(), method.getValue());
+          size += method.getValue();
+        }
+      }
+    }
+    return size > 0
+        ? Chain.<Object> chain().add(truncated(positive, size))
+        : Chain.<Object> chain();
+  }
+
+  private static void count(
+      Map<Object, Map<Method, Integer>> counts, Truncated truncated, int sign) {
+    for (Entry<Object, Map<Method, Integer>> instance : truncated.counts.entrySet()) {
+      for (Entry<Method, Integer> method : instance.getValue().entrySet()) {
+        count(counts, instance.getKey(), method.getKey(), sign * method.getValue());
+      }
+    }
+  }
+
+  private static void count(
+      Map<Object, Map<Method, Integer>> counts, Object instance, Method method, int number) {
+    Map<Method, Integer> methods = counts.get(instance);
+    if (methods == null) {
+      methods = new HashMap<>();
+      counts.put(instance, methods);
+    }
+    Integer count = methods.get(method);
+    methods.put(method, count == null
+        ? number
+        : count + number);
+  }
+}
@@ -2,14 +2,14 @@ package org.testory.plumbing.history;
 
 import static org.testory.common.Chain.chain;
 import static org.testory.plumbing.PlumbingException.check;
+import static org.testory.plumbing.history.Increment.increment;
 
 import org.testory.common.Chain;
 
 public class FilteredHistory<T> {
   private final Class<T> type;
   private final History history;
-  private Chain<Object> processed = chain();
-  private Chain<T> filtered = chain();
+  private volatile Snapshot<T> snapshot = new Snapshot<>(chain(), Chain.<T> chain());
 
   private FilteredHistory(Class<T> type, History history) {
     this.type = type;
@@ -22,32 +22,29 @@ public class FilteredHistory<T> {
     return new FilteredHistory<>(type, history);
   }
 
-  public synchronized Chain<T> get() {
-    update();
-    return filtered;
+  public Chain<T> get() {
+    Snapshot<T> updated = update(snapshot);
+    snapshot = updated;
+    return updated.filtered;
   }
 
-  private void update() {
-    final Chain<Object> allEvents = history.get();
-
-    Chain<Object> processing = allEvents;
-    Chain<T> filtering = chain();
-    while (processing.size() > 0) {
-      if (processing == processed) {
-        break;
-      }
-      Object event = processing.get();
-      if (type.isInstance(event)) {
-        filtering = filtering.add((T) event);
-      }
-      processing = processing.remove();
-    }
+  private Snapshot<T> update(Snapshot<T> snapshot) {
+    Chain<Object> allEvents = history.get();
+    Increment<T> increment = increment(type, snapshot.processed, allEvents);
+    Chain<T> filtered = increment.fromScratch
+        ? Chain.<T> chain()
+        : snapshot.filtered;
+    return new Snapshot<>(allEvents, filtered.addAll(increment));
+  }
+
+  /** racing threads may publish older snapshot, which is still consistent and gets updated later */
+  private static class Snapshot<T> {
+    final Chain<Object> processed;
+    final Chain<T> filtered;
 
-    processed = allEvents;
-    if (processing.size() == 0) {
-      filtered = filtering.reverse();
-    } else {
-      filtered = filtered.addAll(filtering);
+    Snapshot(Chain<Object> processed, Chain<T> filtered) {
+      this.processed = processed;
+      this.filtered = filtered;
     }
   }
 }
@@ -0,0 +1,53 @@
+package org.testory.plumbing.history;
+
+import static org.testory.common.Chain.chain;
+import static org.testory.plumbing.PlumbingException.check;
+
+import java.util.Iterator;
+
+import org.testory.common.Chain;
+
+/**
+ * Events of type added to history since it was processed, oldest first. If processed events are
+ * no longer in history, because it was cut or truncated, increment contains all events of type and
+ * is meant to be indexed from scratch.
+ */
+public class Increment<T> implements Iterable<T> {
+  public final boolean fromScratch;
+  private final Chain<T> added;
+
+  private Increment(boolean fromScratch, Chain<T> added) {
+    this.fromScratch = fromScratch;
+    this.added = added;
+  }
+
+  public static <T> Increment<T> increment(
+      Class<T> type,
+      Chain<Object> processed,
+      Chain<Object> events) {
+    check(type != null);
+    check(processed != null);
+    check(events != null);
+    Chain<Object> processing = events;
+    Chain<T> added = chain();
+    while (processing.size() > 0) {
+      if (processing == processed) {
+        break;
+      }
+      Object event = processing.get();
+      if (type.isInstance(event)) {
+        added = added.add((T) event);
+      }
+      processing = processing.remove();
+    }
+    return new Increment<>(processing.size() == 0, added);
+  }
+
+  public boolean isEmpty() {
+    return added.size() == 0;
+  }
+
+  public Iterator<T> iterator() {
+    return added.iterator();
+  }
+}
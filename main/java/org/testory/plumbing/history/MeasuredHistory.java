@@ -0,0 +1,48 @@
+package org.testory.plumbing.history;
+
+import static org.testory.plumbing.PlumbingException.check;
+
+import org.testory.common.Chain;
+import org.testory.common.Metrics;
+
+/** measures size of history and number of events removed by each cut */
+public class MeasuredHistory implements History {
+  private final Metrics metrics;
+  private final History history;
+
+  private MeasuredHistory(Metrics metrics, History history) {
+    this.metrics = metrics;
+    this.history = history;
+  }
+
+  public static History measured(Metrics metrics, History history) {
+    check(metrics != null);
+    check(history != null);
+    return metrics.enabled
+        ? new MeasuredHistory(metrics, history)
+        : history;
+  }
+
+  public Chain<Object> get() {
+    return history.get();
+  }
+
+  public void add(Object event) {
+    history.add(event);
+    measureSize();
+  }
+
+  public void cut(Chain<Object> tail) {
+    history.cut(tail);
+    metrics.add("history.cuts", 1);
+    metrics.add("history.cut.events", tail.size());
+    metrics.max("history.cut.max", tail.size());
+    measureSize();
+  }
+
+  private void measureSize() {
+    int size = history.get().size();
+    metrics.set("history.size", size);
+    metrics.max("history.size.max", size);
+  }
+}
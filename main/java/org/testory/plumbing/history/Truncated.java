@@ -0,0 +1,24 @@
+package org.testory.plumbing.history;
+
+import static java.util.Collections.unmodifiableMap;
+import static org.testory.plumbing.PlumbingException.check;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/** invocations removed from bounded history, counted per instance and method */
+public class Truncated {
+  public final Map<Object, Map<Method, Integer>> counts;
+  public final int size;
+
+  private Truncated(Map<Object, Map<Method, Integer>> counts, int size) {
+    this.counts = counts;
+    this.size = size;
+  }
+
+  public static Truncated truncated(Map<Object, Map<Method, Integer>> counts, int size) {
+    check(counts != null);
+    check(size > 0);
+    return new Truncated(unmodifiableMap(counts), size);
+  }
+}
@@ -1,22 +1,30 @@
 package org.testory.plumbing.inject;
 
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static org.testory.plumbing.PlumbingException.check;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.HashSet;
 import java.util.Random;
+import java.util.Set;
 
-import org.testory.plumbing.Maker;
+public class FinalMaker implements TypeMaker {
+  private static final Set<Class<?>> types = new HashSet<Class<?>>(asList(
+      Void.class, String.class, Class.class, Method.class, Constructor.class, Field.class));
 
-public class FinalMaker implements Maker {
   private FinalMaker() {}
 
-  public static Maker finalMaker() {
+  public static TypeMaker finalMaker() {
     return new FinalMaker();
   }
 
+  public boolean canMake(Class<?> type) {
+    return types.contains(type) || Enum.class.isAssignableFrom(type);
+  }
+
   public <T> T make(Class<T> type, String name) {
     check(type != null);
     check(name != null);
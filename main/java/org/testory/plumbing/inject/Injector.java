@@ -8,6 +8,8 @@ import static org.testory.common.Classes.setAccessible;
 import static org.testory.plumbing.PlumbingException.check;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.testory.plumbing.Maker;
 
@@ -26,16 +28,38 @@ public class Injector {
   public void inject(Object test) {
     check(test != null);
     try {
-      for (Field field : test.getClass().getDeclaredFields()) {
-        if (!isStatic(field.getModifiers()) && !isFinal(field.getModifiers())) {
-          setAccessible(field);
-          if (deepEquals(defaultValue(field.getType()), field.get(test))) {
-            field.set(test, maker.make(field.getType(), field.getName()));
-          }
+      for (Injectable injectable : plans.get(test.getClass())) {
+        Field field = injectable.field;
+        if (deepEquals(injectable.defaultValue, field.get(test))) {
+          field.set(test, maker.make(field.getType(), field.getName()));
         }
       }
     } catch (IllegalAccessException e) {
       throw new Error(e);
     }
   }
+
+  /** accessible fields that can be injected, found once for each test class */
+  private static final ClassValue<List<Injectable>> plans = new ClassValue<List<Injectable>>() {
+    protected List<Injectable> computeValue(Class<?> type) {
+      List<Injectable> plan = new ArrayList<>();
+      for (Field field : type.getDeclaredFields()) {
+        if (!isStatic(field.getModifiers()) && !isFinal(field.getModifiers())) {
+          setAccessible(field);
+          plan.add(new Injectable(field, defaultValue(field.getType())));
+        }
+      }
+      return plan;
+    }
+  };
+
+  private static class Injectable {
+    final Field field;
+    final Object defaultValue;
+
+    Injectable(Field field, Object defaultValue) {
+      this.field = field;
+      this.defaultValue = defaultValue;
+    }
+  }
 }
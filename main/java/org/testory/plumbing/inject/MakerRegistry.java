@@ -0,0 +1,82 @@
+package org.testory.plumbing.inject;
+
+import static java.lang.String.format;
+import static org.testory.plumbing.PlumbingException.check;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testory.common.Cache;
+import org.testory.common.Chain;
+import org.testory.common.Optional;
+import org.testory.plumbing.Checker;
+import org.testory.plumbing.Maker;
+
+/**
+ * Makers registered for exact types take precedence over type makers. Type makers are asked in
+ * order they were registered. Maker found for type is remembered. Types without maker are reported
+ * by checker.
+ */
+public class MakerRegistry {
+  private final Map<Class<?>, Maker> exactMakers;
+  private final Chain<TypeMaker> typeMakers;
+  private final Cache<Class<?>, Optional<Maker>> found = new Cache<Class<?>, Optional<Maker>>() {
+    protected Optional<Maker> compute(Class<?> type) {
+      return search(type);
+    }
+  };
+
+  private MakerRegistry(Map<Class<?>, Maker> exactMakers, Chain<TypeMaker> typeMakers) {
+    this.exactMakers = exactMakers;
+    this.typeMakers = typeMakers;
+  }
+
+  public static MakerRegistry makerRegistry() {
+    return new MakerRegistry(new HashMap<Class<?>, Maker>(), Chain.<TypeMaker> chain());
+  }
+
+  public MakerRegistry register(Class<?> type, Maker maker) {
+    check(type != null);
+    check(maker != null);
+    Map<Class<?>, Maker> registered = new HashMap<>(exactMakers);
+    registered.put(type, maker);
+    return new MakerRegistry(registered, typeMakers);
+  }
+
+  public MakerRegistry register(TypeMaker maker) {
+    check(maker != null);
+    return new MakerRegistry(exactMakers, typeMakers.add(maker));
+  }
+
+  public Optional<Maker> find(Class<?> type) {
+    check(type != null);
+    return found.get(type);
+  }
+
+  private Optional<Maker> search(Class<?> type) {
+    if (exactMakers.containsKey(type)) {
+      return Optional.of(exactMakers.get(type));
+    }
+    for (TypeMaker maker : typeMakers.reverse()) {
+      if (maker.canMake(type)) {
+        return Optional.<Maker> of(maker);
+      }
+    }
+    return Optional.empty();
+  }
+
+  public Maker checking(final Checker checker) {
+    check(checker != null);
+    return new Maker() {
+      public <T> T make(Class<T> type, String name) {
+        check(type != null);
+        check(name != null);
+        Optional<Maker> maker = find(type);
+        if (!maker.isPresent()) {
+          checker.fail(format("cannot make %s of type %s", name, type.getName()));
+        }
+        return maker.get().make(type, name);
+      }
+    };
+  }
+}
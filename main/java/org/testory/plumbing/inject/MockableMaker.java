@@ -0,0 +1,29 @@
+package org.testory.plumbing.inject;
+
+import static java.lang.reflect.Modifier.isFinal;
+import static org.testory.plumbing.PlumbingException.check;
+
+import org.testory.plumbing.Maker;
+
+public class MockableMaker implements TypeMaker {
+  private final Maker mockMaker;
+
+  private MockableMaker(Maker mockMaker) {
+    this.mockMaker = mockMaker;
+  }
+
+  public static TypeMaker mockable(Maker mockMaker) {
+    check(mockMaker != null);
+    return new MockableMaker(mockMaker);
+  }
+
+  public boolean canMake(Class<?> type) {
+    return !type.isPrimitive() && !type.isArray() && !isFinal(type.getModifiers());
+  }
+
+  public <T> T make(Class<T> type, String name) {
+    check(type != null);
+    check(name != null);
+    return mockMaker.make(type, name);
+  }
+}
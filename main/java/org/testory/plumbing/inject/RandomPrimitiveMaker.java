@@ -1,19 +1,29 @@
 package org.testory.plumbing.inject;
 
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static org.testory.plumbing.PlumbingException.check;
 
+import java.util.HashSet;
 import java.util.Random;
+import java.util.Set;
 
-import org.testory.plumbing.Maker;
+public class RandomPrimitiveMaker implements TypeMaker {
+  private static final Set<Class<?>> types = new HashSet<Class<?>>(asList(
+      boolean.class, char.class, byte.class, short.class, int.class, long.class, float.class,
+      double.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class,
+      Long.class, Float.class, Double.class));
 
-public class RandomPrimitiveMaker implements Maker {
   private RandomPrimitiveMaker() {}
 
-  public static Maker randomPrimitiveMaker() {
+  public static TypeMaker randomPrimitiveMaker() {
     return new RandomPrimitiveMaker();
   }
 
+  public boolean canMake(Class<?> type) {
+    return types.contains(type);
+  }
+
   public <T> T make(Class<T> type, String name) {
     check(type != null);
     check(name != null);
@@ -0,0 +1,8 @@
+package org.testory.plumbing.inject;
+
+import org.testory.plumbing.Maker;
+
+/** maker that tells upfront whether it can make instance of type */
+public interface TypeMaker extends Maker {
+  boolean canMake(Class<?> type);
+}
@@ -0,0 +1,82 @@
+package org.testory.plumbing.mock;
+
+import static org.testory.common.Chain.chain;
+import static org.testory.plumbing.PlumbingException.check;
+import static org.testory.plumbing.history.Increment.increment;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.testory.common.Chain;
+import org.testory.common.Nullable;
+import org.testory.common.Optional;
+import org.testory.plumbing.history.History;
+import org.testory.plumbing.history.Increment;
+
+/**
+ * Mocks from history by identity. Index is kept in immutable snapshot, so lookups take no lock. Map
+ * is copied only when new mocks are added. Frozen index has no history and keeps its snapshot.
+ */
+public class MockedIndex {
+  @Nullable
+  private final History history;
+  private volatile Snapshot snapshot;
+
+  private MockedIndex(@Nullable History history, Snapshot snapshot) {
+    this.history = history;
+    this.snapshot = snapshot;
+  }
+
+  public static MockedIndex mockedIndex(History history) {
+    check(history != null);
+    return new MockedIndex(history, new Snapshot(chain(), new IdentityHashMap<Object, Mocked>()));
+  }
+
+  /** mocks as they are now, unaffected by later events and purges */
+  public MockedIndex frozen() {
+    return new MockedIndex(null, update());
+  }
+
+  public Optional<Mocked> get(Object mock) {
+    check(mock != null);
+    Mocked mocked = update().mocks.get(mock);
+    return mocked == null
+        ? Optional.<Mocked> empty()
+        : Optional.of(mocked);
+  }
+
+  private Snapshot update() {
+    Snapshot current = snapshot;
+    if (history == null) {
+      return current;
+    }
+    Chain<Object> allEvents = history.get();
+    if (allEvents == current.processed) {
+      return current;
+    }
+    Increment<Mocked> added = increment(Mocked.class, current.processed, allEvents);
+    Map<Object, Mocked> mocks = current.mocks;
+    if (added.fromScratch) {
+      mocks = new IdentityHashMap<>();
+    } else if (!added.isEmpty()) {
+      mocks = new IdentityHashMap<>(mocks);
+    }
+    for (Mocked mocked : added) {
+      mocks.put(mocked.mock, mocked);
+    }
+    Snapshot updated = new Snapshot(allEvents, mocks);
+    snapshot = updated;
+    return updated;
+  }
+
+  /** racing threads may publish older snapshot, which is still consistent and gets updated later */
+  private static class Snapshot {
+    final Chain<Object> processed;
+    final Map<Object, Mocked> mocks;
+
+    Snapshot(Chain<Object> processed, Map<Object, Mocked> mocks) {
+      this.processed = processed;
+      this.mocks = mocks;
+    }
+  }
+}
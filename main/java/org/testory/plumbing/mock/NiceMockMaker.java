@@ -35,7 +35,7 @@ public class NiceMockMaker implements Maker {
   }
 
   private static Stubbed stubbedNice(Object mock) {
-    return stubbed(onInstance(mock), new Handler() {
+    return stubbed(mock, onInstance(mock), new Handler() {
       public Object handle(Invocation invocation) {
         return defaultValue(invocation.method.getReturnType());
       }
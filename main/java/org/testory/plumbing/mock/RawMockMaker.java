@@ -1,13 +1,12 @@
 package org.testory.plumbing.mock;
 
 import static org.testory.plumbing.PlumbingException.check;
-import static org.testory.plumbing.history.FilteredHistory.filter;
 import static org.testory.plumbing.mock.Mocked.mocked;
 import static org.testory.proxy.Typing.subclassing;
 
+import org.testory.common.Metrics;
 import org.testory.plumbing.Maker;
 import org.testory.plumbing.PlumbingException;
-import org.testory.plumbing.history.FilteredHistory;
 import org.testory.plumbing.history.History;
 import org.testory.proxy.Handler;
 import org.testory.proxy.Invocation;
@@ -15,20 +14,31 @@ import org.testory.proxy.Proxer;
 
 public class RawMockMaker implements Maker {
   private final History history;
-  private final FilteredHistory<Stubbed> stubbedHistory;
+  private final StubbedIndex stubbedIndex;
   private final Proxer proxer;
+  private final Metrics metrics;
 
-  private RawMockMaker(History history, FilteredHistory<Stubbed> stubbedHistory, Proxer proxer) {
+  private RawMockMaker(
+      History history,
+      StubbedIndex stubbedIndex,
+      Proxer proxer,
+      Metrics metrics) {
     this.history = history;
-    this.stubbedHistory = stubbedHistory;
+    this.stubbedIndex = stubbedIndex;
     this.proxer = proxer;
+    this.metrics = metrics;
   }
 
-  public static Maker rawMockMaker(History history, Proxer proxer) {
+  public static Maker rawMockMaker(
+      History history,
+      StubbedIndex stubbedIndex,
+      Proxer proxer,
+      Metrics metrics) {
     check(history != null);
+    check(stubbedIndex != null);
     check(proxer != null);
-    FilteredHistory<Stubbed> stubbedHistory = filter(Stubbed.class, history);
-    return new RawMockMaker(history, stubbedHistory, proxer);
+    check(metrics != null);
+    return new RawMockMaker(history, stubbedIndex, proxer, metrics);
   }
 
   public <T> T make(Class<T> type, String name) {
@@ -43,6 +53,9 @@ public class RawMockMaker implements Maker {
     return new Handler() {
       public Object handle(Invocation invocation) throws Throwable {
         history.add(invocation);
+        if (metrics.enabled) {
+          metrics.add("invocations.recorded", 1);
+        }
         Stubbed stubbed = stubbed(invocation);
         return stubbed.handler.handle(invocation);
       }
@@ -50,8 +63,15 @@ public class RawMockMaker implements Maker {
   }
 
   public Stubbed stubbed(Invocation invocation) {
-    for (Stubbed stubbed : stubbedHistory.get()) {
+    int evaluated = 0;
+    for (Stubbed stubbed : stubbedIndex.get(invocation)) {
+      evaluated++;
       if (stubbed.invocationMatcher.matches(invocation)) {
+        if (metrics.enabled) {
+          metrics.add("stubs.lookups", 1);
+          metrics.add("stubs.matchers", evaluated);
+          metrics.max("stubs.matchers.max", evaluated);
+        }
         return stubbed;
       }
     }
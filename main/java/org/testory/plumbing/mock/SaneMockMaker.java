@@ -2,7 +2,6 @@ package org.testory.plumbing.mock;
 
 import static java.util.Objects.deepEquals;
 import static org.testory.plumbing.PlumbingException.check;
-import static org.testory.plumbing.mock.Stubbed.stubbed;
 import static org.testory.proxy.handler.ReturningHandler.returning;
 
 import java.io.IOException;
@@ -95,14 +94,30 @@ public class SaneMockMaker implements Maker {
     });
   }
 
-  private static InvocationMatcher onInvocation(
-      final Object instance, final String methodName, final Class<?>... parameters) {
-    return new InvocationMatcher() {
-      public boolean matches(Invocation invocation) {
-        return invocation.instance == instance
-            && deepEquals(invocation.method.getName(), methodName)
-            && deepEquals(invocation.method.getParameterTypes(), parameters);
-      }
-    };
+  private static Stubbed stubbed(OnInvocation onInvocation, Handler handler) {
+    return Stubbed.stubbed(onInvocation.instance, onInvocation.methodName, onInvocation, handler);
+  }
+
+  private static OnInvocation onInvocation(
+      Object instance, String methodName, Class<?>... parameters) {
+    return new OnInvocation(instance, methodName, parameters);
+  }
+
+  private static class OnInvocation implements InvocationMatcher {
+    private final Object instance;
+    private final String methodName;
+    private final Class<?>[] parameters;
+
+    private OnInvocation(Object instance, String methodName, Class<?>[] parameters) {
+      this.instance = instance;
+      this.methodName = methodName;
+      this.parameters = parameters;
+    }
+
+    public boolean matches(Invocation invocation) {
+      return invocation.instance == instance
+          && deepEquals(invocation.method.getName(), methodName)
+          && deepEquals(invocation.method.getParameterTypes(), parameters);
+    }
   }
 }
@@ -3,22 +3,49 @@ package org.testory.plumbing.mock;
 import static java.lang.String.format;
 import static org.testory.plumbing.PlumbingException.check;
 
+import org.testory.common.Nullable;
 import org.testory.proxy.Handler;
 import org.testory.proxy.InvocationMatcher;
 
 public class Stubbed {
   public final InvocationMatcher invocationMatcher;
   public final Handler handler;
+  /** if present, invocationMatcher matches only invocations on this instance */
+  @Nullable
+  public final Object instance;
+  /** if present, invocationMatcher matches only invocations of methods with this name */
+  @Nullable
+  public final String methodName;
 
-  private Stubbed(InvocationMatcher invocationMatcher, Handler handler) {
+  private Stubbed(InvocationMatcher invocationMatcher, Handler handler, Object instance,
+      String methodName) {
     this.invocationMatcher = invocationMatcher;
     this.handler = handler;
+    this.instance = instance;
+    this.methodName = methodName;
   }
 
   public static Stubbed stubbed(InvocationMatcher invocationMatcher, Handler handler) {
     check(invocationMatcher != null);
     check(handler != null);
-    return new Stubbed(invocationMatcher, handler);
+    return new Stubbed(invocationMatcher, handler, null, null);
+  }
+
+  public static Stubbed stubbed(Object instance, InvocationMatcher invocationMatcher,
+      Handler handler) {
+    check(instance != null);
+    check(invocationMatcher != null);
+    check(handler != null);
+    return new Stubbed(invocationMatcher, handler, instance, null);
+  }
+
+  public static Stubbed stubbed(Object instance, String methodName,
+      InvocationMatcher invocationMatcher, Handler handler) {
+    check(instance != null);
+    check(methodName != null);
+    check(invocationMatcher != null);
+    check(handler != null);
+    return new Stubbed(invocationMatcher, handler, instance, methodName);
   }
 
   public String toString() {
@@ -0,0 +1,189 @@
+package org.testory.plumbing.mock;
+
+import static org.testory.common.Chain.chain;
+import static org.testory.plumbing.PlumbingException.check;
+import static org.testory.plumbing.history.Increment.increment;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.testory.common.Chain;
+import org.testory.plumbing.history.History;
+import org.testory.plumbing.history.Increment;
+import org.testory.proxy.Invocation;
+
+/**
+ * Stubbings from history indexed by instance and method name. Stubbings that are not bound to
+ * instance are kept aside and merged during lookup, so newest stubbing still comes first. Index is
+ * kept in immutable snapshot, so lookups take no lock. Maps are copied only when new stubbings are
+ * added, and only method maps of stubbed instances.
+ */
+public class StubbedIndex {
+  private static final Chain<Indexed> none = chain();
+
+  private final History history;
+  private volatile Snapshot snapshot = new Snapshot();
+
+  private StubbedIndex(History history) {
+    this.history = history;
+  }
+
+  public static StubbedIndex stubbedIndex(History history) {
+    check(history != null);
+    return new StubbedIndex(history);
+  }
+
+  /** stubbings that may match invocation, newest first */
+  public Iterable<Stubbed> get(Invocation invocation) {
+    check(invocation != null);
+    Snapshot current = update();
+    Map<String, Chain<Indexed>> methods = current.byMethod.get(invocation.instance);
+    final Chain<Indexed> ofMethod = methods == null
+        ? none
+        : nonNull(methods.get(invocation.method.getName()));
+    final Chain<Indexed> ofInstance = nonNull(current.byInstance.get(invocation.instance));
+    final Chain<Indexed> ofAny = current.unbound;
+    return new Iterable<Stubbed>() {
+      public Iterator<Stubbed> iterator() {
+        return merge(ofMethod, ofInstance, ofAny);
+      }
+    };
+  }
+
+  private Snapshot update() {
+    Snapshot current = snapshot;
+    Chain<Object> allEvents = history.get();
+    if (allEvents == current.processed) {
+      return current;
+    }
+    Increment<Stubbed> added = increment(Stubbed.class, current.processed, allEvents);
+    Snapshot updated = added.fromScratch
+        ? new Snapshot().index(allEvents, added)
+        : current.index(allEvents, added);
+    snapshot = updated;
+    return updated;
+  }
+
+  /** racing threads may publish older snapshot, which is still consistent and gets updated later */
+  private static class Snapshot {
+    final Chain<Object> processed;
+    final int counter;
+    final Chain<Indexed> unbound;
+    final Map<Object, Chain<Indexed>> byInstance;
+    final Map<Object, Map<String, Chain<Indexed>>> byMethod;
+
+    Snapshot() {
+      this(
+          Chain.<Object> chain(),
+          0,
+          none,
+          new IdentityHashMap<Object, Chain<Indexed>>(),
+          new IdentityHashMap<Object, Map<String, Chain<Indexed>>>());
+    }
+
+    Snapshot(
+        Chain<Object> processed,
+        int counter,
+        Chain<Indexed> unbound,
+        Map<Object, Chain<Indexed>> byInstance,
+        Map<Object, Map<String, Chain<Indexed>>> byMethod) {
+      this.processed = processed;
+      this.counter = counter;
+      this.unbound = unbound;
+      this.byInstance = byInstance;
+      this.byMethod = byMethod;
+    }
+
+    Snapshot index(Chain<Object> allEvents, Increment<Stubbed> added) {
+      if (added.isEmpty()) {
+        return new Snapshot(allEvents, counter, unbound, byInstance, byMethod);
+      }
+      int counter = this.counter;
+      Chain<Indexed> unbound = this.unbound;
+      Map<Object, Chain<Indexed>> byInstance = new IdentityHashMap<>(this.byInstance);
+      Map<Object, Map<String, Chain<Indexed>>> byMethod = new IdentityHashMap<>(this.byMethod);
+      Map<Object, Map<String, Chain<Indexed>>> copied = new IdentityHashMap<>();
+      for (Stubbed stubbed : added) {
+        Indexed indexed = new Indexed(counter++, stubbed);
+        if (stubbed.instance == null) {
+          unbound = unbound.add(indexed);
+        } else if (stubbed.methodName == null) {
+          byInstance.put(stubbed.instance, nonNull(byInstance.get(stubbed.instance)).add(indexed));
+        } else {
+          Map<String, Chain<Indexed>> methods = copied.get(stubbed.instance);
+          if (methods == null) {
+            Map<String, Chain<Indexed>> older = byMethod.get(stubbed.instance);
+            methods = older == null
+                ? new HashMap<String, Chain<Indexed>>()
+                : new HashMap<>(older);
+            copied.put(stubbed.instance, methods);
+            byMethod.put(stubbed.instance, methods);
+          }
+          methods.put(stubbed.methodName, nonNull(methods.get(stubbed.methodName)).add(indexed));
+        }
+      }
+      return new Snapshot(allEvents, counter, unbound, byInstance, byMethod);
+    }
+  }
+
+  private static Iterator<Stubbed> merge(
+      final Chain<Indexed> first,
+      final Chain<Indexed> second,
+      final Chain<Indexed> third) {
+    return new Iterator<Stubbed>() {
+      Chain<Indexed> a = first, b = second, c = third;
+
+      public boolean hasNext() {
+        return a.size() > 0 || b.size() > 0 || c.size() > 0;
+      }
+
+      public Stubbed next() {
+        int newest = Math.max(order(a), Math.max(order(b), order(c)));
+        if (newest < 0) {
+          throw new NoSuchElementException();
+        }
+        Indexed next;
+        if (order(a) == newest) {
+          next = a.get();
+          a = a.remove();
+        } else if (order(b) == newest) {
+          next = b.get();
+          b = b.remove();
+        } else {
+          next = c.get();
+          c = c.remove();
+        }
+        return next.stubbed;
+      }
+
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  private static int order(Chain<Indexed> chain) {
+    return chain.size() > 0
+        ? chain.get().order
+        : -1;
+  }
+
+  private static Chain<Indexed> nonNull(Chain<Indexed> chain) {
+    return chain == null
+        ? none
+        : chain;
+  }
+
+  private static class Indexed {
+    final int order;
+    final Stubbed stubbed;
+
+    Indexed(int order, Stubbed stubbed) {
+      this.order = order;
+      this.stubbed = stubbed;
+    }
+  }
+}
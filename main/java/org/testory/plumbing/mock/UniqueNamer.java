@@ -1,43 +1,61 @@
 package org.testory.plumbing.mock;
 
-import static java.lang.String.format;
+import static org.testory.common.Chain.chain;
 import static org.testory.plumbing.PlumbingException.check;
-import static org.testory.plumbing.history.FilteredHistory.filter;
+import static org.testory.plumbing.history.Increment.increment;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
-import org.testory.plumbing.history.FilteredHistory;
+import org.testory.common.Chain;
 import org.testory.plumbing.history.History;
+import org.testory.plumbing.history.Increment;
 
 public class UniqueNamer implements Namer {
-  private final FilteredHistory<Mocked> mockedHistory;
-
-  private UniqueNamer(FilteredHistory<Mocked> mockedHistory) {
-    this.mockedHistory = mockedHistory;
+  private final History history;
+  private Chain<Object> processed = chain();
+  private final Set<String> usedNames = new HashSet<>();
+  /** for each simple name, number below which all names are used */
+  private final Map<String, Integer> counters = new HashMap<>();
+
+  private UniqueNamer(History history) {
+    this.history = history;
   }
 
   public static Namer uniqueNamer(History history) {
     check(history != null);
-    return new UniqueNamer(filter(Mocked.class, history));
+    return new UniqueNamer(history);
   }
 
-  public String name(Class<?> type) {
+  public synchronized String name(Class<?> type) {
     check(type != null);
-    List<String> usedNames = usedNames();
-    for (int i = 0;; i++) {
-      String name = format("mock%s%s", type.getSimpleName(), i);
+    update();
+    String simpleName = type.getSimpleName();
+    Integer counter = counters.get(simpleName);
+    int first = counter == null
+        ? 0
+        : counter;
+    for (int i = first;; i++) {
+      String name = "mock" + simpleName + i;
       if (!usedNames.contains(name)) {
+        counters.put(simpleName, i);
         return name;
       }
     }
   }
 
-  private List<String> usedNames() {
-    List<String> usedNames = new ArrayList<>();
-    for (Mocked mocked : mockedHistory.get()) {
+  private void update() {
+    Chain<Object> allEvents = history.get();
+    Increment<Mocked> added = increment(Mocked.class, processed, allEvents);
+    processed = allEvents;
+    if (added.fromScratch) {
+      usedNames.clear();
+      counters.clear();
+    }
+    for (Mocked mocked : added) {
       usedNames.add(mocked.name);
     }
-    return usedNames;
   }
 }
@@ -0,0 +1,59 @@
+package org.testory.plumbing.verify;
+
+import static org.testory.plumbing.PlumbingException.check;
+
+import org.testory.common.Metrics;
+import org.testory.common.Nullable;
+import org.testory.plumbing.history.History;
+import org.testory.proxy.Invocation;
+import org.testory.proxy.InvocationMatcher;
+
+/**
+ * Cursor after last invocation verified in order. Invocations made after it are read by walking
+ * history from newest, so no copy of history is kept. If history is cut or truncated, cursor stays
+ * after same invocation or goes back to beginning if that invocation is gone.
+ */
+public class InvocationCursor {
+  private final History history;
+  private final Metrics metrics;
+  @Nullable
+  private Invocation verified;
+
+  private InvocationCursor(History history, Metrics metrics) {
+    this.history = history;
+    this.metrics = metrics;
+  }
+
+  public static InvocationCursor invocationCursor(History history, Metrics metrics) {
+    check(history != null);
+    check(metrics != null);
+    return new InvocationCursor(history, metrics);
+  }
+
+  /** moves cursor after oldest matching invocation made after cursor, if there is one */
+  public synchronized boolean advance(InvocationMatcher invocationMatcher) {
+    check(invocationMatcher != null);
+    Invocation oldest = null;
+    int scanned = 0;
+    for (Object event : history.get()) {
+      if (event == verified) {
+        break;
+      }
+      if (event instanceof Invocation) {
+        Invocation invocation = (Invocation) event;
+        scanned++;
+        if (invocationMatcher.matches(invocation)) {
+          oldest = invocation;
+        }
+      }
+    }
+    if (metrics.enabled) {
+      metrics.add("verify.scanned", scanned);
+    }
+    if (oldest == null) {
+      return false;
+    }
+    verified = oldest;
+    return true;
+  }
+}
@@ -0,0 +1,170 @@
+package org.testory.plumbing.verify;
+
+import static java.util.Arrays.asList;
+import static org.testory.common.Chain.chain;
+import static org.testory.plumbing.PlumbingException.check;
+import static org.testory.plumbing.history.Increment.increment;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.testory.common.Chain;
+import org.testory.common.Metrics;
+import org.testory.plumbing.history.History;
+import org.testory.plumbing.history.Increment;
+import org.testory.plumbing.history.Truncated;
+import org.testory.plumbing.wildcard.MatchingInvocation;
+import org.testory.proxy.Invocation;
+
+/**
+ * Counts invocations from history per instance and method. Invocations with only immutable
+ * arguments are also counted per arguments, so matching them with equalDeep needs no scan.
+ * Truncated invocations are counted only per instance and method, so they are matched only by
+ * matchers that accept any arguments.
+ */
+public class InvocationIndex {
+  private static final Set<Class<?>> valueTypes = new HashSet<Class<?>>(asList(
+      String.class, Class.class, Boolean.class, Character.class, Byte.class, Short.class,
+      Integer.class, Long.class, Float.class, Double.class));
+
+  private final History history;
+  private final Metrics metrics;
+  private Chain<Object> processed = chain();
+  private Map<Object, Map<Method, Counted>> counted = new IdentityHashMap<>();
+  private int truncated = 0;
+
+  private InvocationIndex(History history, Metrics metrics) {
+    this.history = history;
+    this.metrics = metrics;
+  }
+
+  public static InvocationIndex invocationIndex(History history, Metrics metrics) {
+    check(history != null);
+    check(metrics != null);
+    return new InvocationIndex(history, metrics);
+  }
+
+  public synchronized int count(MatchingInvocation matching) {
+    check(matching != null);
+    update();
+    Map<Method, Counted> methods = counted.get(matching.instance);
+    Counted counts = methods == null
+        ? null
+        : methods.get(matching.method);
+    if (counts == null) {
+      return 0;
+    }
+    int count = matching.anyArguments
+        ? counts.truncated
+        : 0;
+    if (matching.equalArguments.isPresent() && areValues(matching.equalArguments.get())) {
+      Integer countByArguments = counts.byArguments.get(matching.equalArguments.get());
+      return countByArguments == null
+          ? count
+          : count + countByArguments;
+    }
+    for (Invocation invocation : counts.invocations) {
+      if (matching.matches(invocation)) {
+        count++;
+      }
+    }
+    if (metrics.enabled) {
+      metrics.add("verify.scanned", counts.invocations.size());
+    }
+    return count;
+  }
+
+  /** number of invocations removed from history, that can be counted only per method */
+  public synchronized int truncated() {
+    update();
+    return truncated;
+  }
+
+  /** number of invocations of method on instance removed from history */
+  public synchronized int truncated(Object instance, Method method) {
+    check(instance != null);
+    check(method != null);
+    update();
+    Map<Method, Counted> methods = counted.get(instance);
+    Counted counts = methods == null
+        ? null
+        : methods.get(method);
+    return counts == null
+        ? 0
+        : counts.truncated;
+  }
+
+  private void update() {
+    Chain<Object> allEvents = history.get();
+    Increment<Object> added = increment(Object.class, processed, allEvents);
+    processed = allEvents;
+    if (added.fromScratch) {
+      counted = new IdentityHashMap<>();
+      truncated = 0;
+    }
+    for (Object event : added) {
+      if (event instanceof Invocation) {
+        count((Invocation) event);
+      } else if (event instanceof Truncated) {
+        count((Truncated) event);
+      }
+    }
+  }
+
+  private void count(Truncated event) {
+    for (Entry<Object, Map<Method, Integer>> instance : event.counts.entrySet()) {
+      for (Entry<Method, Integer> method : instance.getValue().entrySet()) {
+        counted(instance.getKey(), method.getKey()).truncated += method.getValue();
+      }
+    }
+    truncated += event.size;
+  }
+
+  private void count(Invocation invocation) {
+    Counted counts = counted(invocation.instance, invocation.method);
+    counts.invocations = counts.invocations.add(invocation);
+    if (areValues(invocation.arguments)) {
+      Integer count = counts.byArguments.get(invocation.arguments);
+      counts.byArguments.put(invocation.arguments, count == null
+          ? 1
+          : count + 1);
+    }
+  }
+
+  private Counted counted(Object instance, Method method) {
+    Map<Method, Counted> methods = counted.get(instance);
+    if (methods == null) {
+      methods = new HashMap<>();
+      counted.put(instance, methods);
+    }
+    Counted counts = methods.get(method);
+    if (counts == null) {
+      counts = new Counted();
+      methods.put(method, counts);
+    }
+    return counts;
+  }
+
+  /** values that are immutable and equal only to instances of same type */
+  private static boolean areValues(List<Object> arguments) {
+    for (Object argument : arguments) {
+      if (argument != null && !valueTypes.contains(argument.getClass())
+          && !(argument instanceof Enum)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static class Counted {
+    int truncated = 0;
+    Chain<Invocation> invocations = chain();
+    final Map<List<Object>, Integer> byArguments = new HashMap<>();
+  }
+}
@@ -0,0 +1,157 @@
+package org.testory.plumbing.verify;
+
+import static java.lang.String.format;
+import static org.testory.common.Chain.chain;
+import static org.testory.plumbing.PlumbingException.check;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.testory.common.Chain;
+import org.testory.plumbing.wildcard.MatchingInvocation;
+import org.testory.proxy.Invocation;
+import org.testory.proxy.InvocationMatcher;
+
+/**
+ * Lines describing invocations, oldest first. Each section prints at most limit lines, so
+ * formatting huge history takes bounded time and memory. Lines are computed only when iterated.
+ */
+public class InvocationSummary {
+  private final Chain<Invocation> invocations;
+  private final int truncated;
+  private final int limit;
+
+  private InvocationSummary(Chain<Invocation> invocations, int truncated, int limit) {
+    this.invocations = invocations;
+    this.truncated = truncated;
+    this.limit = limit;
+  }
+
+  public static InvocationSummary invocationSummary(
+      Chain<Invocation> invocations,
+      int truncated,
+      int limit) {
+    check(invocations != null);
+    check(truncated >= 0);
+    check(limit > 1);
+    return new InvocationSummary(invocations, truncated, limit);
+  }
+
+  public boolean isEmpty() {
+    return truncated == 0 && invocations.size() == 0;
+  }
+
+  public boolean exceedsLimit() {
+    return invocations.size() > limit;
+  }
+
+  /** first and last invocations, skipping those in the middle if there is more than limit */
+  public Iterable<Object> firstAndLast() {
+    return new Iterable<Object>() {
+      public Iterator<Object> iterator() {
+        int size = invocations.size();
+        int newest = Math.min(size, limit / 2);
+        int oldest = Math.min(size - newest, limit - newest);
+        Chain<Object> lines = chain();
+        if (truncated > 0) {
+          lines = lines.add(format("... %s earlier invocations truncated", truncated));
+        }
+        Chain<Invocation> oldestInvocations = invocations;
+        for (int i = 0; i < size - oldest; i++) {
+          oldestInvocations = oldestInvocations.remove();
+        }
+        lines = lines.addAll(oldestInvocations.reverse());
+        if (size > oldest + newest) {
+          lines = lines.add(format("... %s invocations omitted", size - oldest - newest));
+        }
+        Chain<Invocation> newestInvocations = chain();
+        for (Invocation invocation : invocations) {
+          if (newestInvocations.size() == newest) {
+            break;
+          }
+          newestInvocations = newestInvocations.add(invocation);
+        }
+        return lines.addAll(newestInvocations).reverse().iterator();
+      }
+    };
+  }
+
+  /** number of invocations of each method on each mock, most frequent first */
+  public Iterable<Object> countedByMockAndMethod() {
+    return new Iterable<Object>() {
+      public Iterator<Object> iterator() {
+        Map<Object, Map<Method, Count>> mocks = new IdentityHashMap<>();
+        List<Count> counts = new ArrayList<>();
+        for (Invocation invocation : invocations) {
+          Map<Method, Count> methods = mocks.get(invocation.instance);
+          if (methods == null) {
+            methods = new HashMap<>();
+            mocks.put(invocation.instance, methods);
+          }
+          Count count = methods.get(invocation.method);
+          if (count == null) {
+            count = new Count(invocation.instance, invocation.method);
+            methods.put(invocation.method, count);
+            counts.add(count);
+          }
+          count.value++;
+        }
+        Collections.sort(counts, new Comparator<Count>() {
+          public int compare(Count first, Count second) {
+            return Integer.compare(second.value, first.value);
+          }
+        });
+        List<Object> lines = new ArrayList<>();
+        for (Count count : counts.subList(0, Math.min(counts.size(), limit))) {
+          lines.add(format("%s times %s.%s", count.value, count.instance, count.method.getName()));
+        }
+        if (counts.size() > limit) {
+          lines.add(format("... %s more", counts.size() - limit));
+        }
+        return lines.iterator();
+      }
+    };
+  }
+
+  /** latest invocations of same method on same mock as expected by matcher */
+  public Iterable<Object> nearest(final InvocationMatcher invocationMatcher) {
+    return new Iterable<Object>() {
+      public Iterator<Object> iterator() {
+        Chain<Object> lines = chain();
+        if (invocationMatcher instanceof MatchingInvocation) {
+          MatchingInvocation expected = (MatchingInvocation) invocationMatcher;
+          for (Invocation invocation : invocations) {
+            if (lines.size() == limit) {
+              break;
+            }
+            if (invocation.instance == expected.instance
+                && invocation.method.equals(expected.method)) {
+              lines = lines.add(invocation);
+            }
+          }
+        }
+        return lines.size() > 0
+            ? lines.iterator()
+            : Chain.<Object> chain().add("none").iterator();
+      }
+    };
+  }
+
+  private static class Count {
+    final Object instance;
+    final Method method;
+    int value;
+
+    Count(Object instance, Method method) {
+      this.instance = instance;
+      this.method = method;
+    }
+  }
+}
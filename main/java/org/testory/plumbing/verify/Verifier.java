@@ -1,24 +1,29 @@
 package org.testory.plumbing.verify;
 
-import static org.testory.TestoryAssertionError.assertionError;
-import static org.testory.common.Chain.chain;
 import static org.testory.common.Classes.defaultValue;
 import static org.testory.common.Collections.last;
 import static org.testory.common.Matchers.asMatcher;
 import static org.testory.plumbing.PlumbingException.check;
 import static org.testory.plumbing.format.Body.body;
+import static org.testory.plumbing.format.DeferredAssertionError.deferredAssertionError;
 import static org.testory.plumbing.format.Header.header;
 import static org.testory.plumbing.format.Multiline.multiline;
 import static org.testory.plumbing.history.FilteredHistory.filter;
-import static org.testory.plumbing.verify.Verified.verified;
+import static org.testory.plumbing.verify.InvocationCursor.invocationCursor;
+import static org.testory.plumbing.verify.InvocationIndex.invocationIndex;
+import static org.testory.plumbing.verify.InvocationSummary.invocationSummary;
 import static org.testory.proxy.Typing.implementing;
 
+import org.testory.TestoryAssertionError;
 import org.testory.common.Chain;
 import org.testory.common.Matcher;
+import org.testory.common.Metrics;
 import org.testory.common.PageFormatter;
 import org.testory.plumbing.facade.Facade;
+import org.testory.plumbing.format.QuietFormatter;
 import org.testory.plumbing.history.FilteredHistory;
 import org.testory.plumbing.history.History;
+import org.testory.plumbing.wildcard.MatchingInvocation;
 import org.testory.plumbing.wildcard.Wildcarder;
 import org.testory.proxy.Handler;
 import org.testory.proxy.Invocation;
@@ -31,14 +36,22 @@ public class Verifier {
       Proxer proxer,
       final Overrider overrider,
       final PageFormatter pageFormatter,
+      final QuietFormatter formatter,
       final Wildcarder wildcarder,
-      final History history) {
+      final History history,
+      final int messageLimit,
+      final Metrics metrics) {
     check(proxer != null);
     check(overrider != null);
     check(pageFormatter != null);
+    check(formatter != null);
     check(wildcarder != null);
     check(history != null);
+    check(messageLimit > 1);
+    check(metrics != null);
     final FilteredHistory<Invocation> invocationHistory = filter(Invocation.class, history);
+    final InvocationIndex invocationIndex = invocationIndex(history, metrics);
+    final InvocationCursor invocationCursor = invocationCursor(history, metrics);
     return (Facade) proxer.proxy(implementing(Facade.class), new Handler() {
       public Object handle(final Invocation thenCalledInvocation) throws Throwable {
         check(thenCalledInvocation.method.getName().startsWith("thenCalled"));
@@ -56,61 +69,124 @@ public class Verifier {
       }
 
       private void verify(Invocation thenCalledInvocation, InvocationMatcher invocationMatcher) {
-        if (thenCalledInvocation.method.getName().endsWith("InOrder")) {
-          thenCalledInOrder(invocationMatcher);
-        } else {
-          thenCalledTimes(numberMatcher(thenCalledInvocation), invocationMatcher);
+        long start = metrics.enabled
+            ? System.nanoTime()
+            : 0;
+        try {
+          if (thenCalledInvocation.method.getName().endsWith("InOrder")) {
+            thenCalledInOrder(invocationMatcher);
+          } else {
+            thenCalledTimes(numberMatcher(thenCalledInvocation), invocationMatcher);
+          }
+        } finally {
+          if (metrics.enabled) {
+            metrics.add("verify.calls", 1);
+            metrics.add("verify.nanos", System.nanoTime() - start);
+          }
         }
       }
 
       private void thenCalledTimes(Matcher numberMatcher, InvocationMatcher invocationMatcher) {
-        int numberOfCalls = 0;
-        for (Invocation invocation : invocationHistory.get()) {
-          if (invocationMatcher.matches(invocation)) {
-            numberOfCalls++;
-          }
+        int truncated = isCountedWhenTruncated(invocationMatcher)
+            ? 0
+            : truncated(invocationMatcher);
+        if (truncated > 0) {
+          throw cannotVerify(invocationMatcher, truncated);
         }
+        int numberOfCalls = count(invocationMatcher);
         if (!numberMatcher.matches(numberOfCalls)) {
-          throw assertionError(pageFormatter
+          throw deferredAssertionError(actualInvocations(page()
               .add(header("expected called times " + numberMatcher))
               .add(body(invocationMatcher))
               .add(header("but called"))
-              .add(body("times " + numberOfCalls))
-              .add(header("actual invocations"))
-              .add(invocationHistory.get().size() > 0
-                  ? multiline(invocationHistory.get().reverse())
-                  : body("none"))
-              .build());
+              .add(body("times " + numberOfCalls)),
+              invocationMatcher));
         }
       }
 
-      private void thenCalledInOrder(InvocationMatcher invocationMatcher) {
-        Chain<Object> remainingFlipped = chain();
-        for (Object event : history.get()) {
-          if (event instanceof Verified) {
-            remainingFlipped = remainingFlipped.addAll(((Verified) event).remaining);
-            break;
-          } else {
-            remainingFlipped = remainingFlipped.add(event);
+      private int count(InvocationMatcher invocationMatcher) {
+        if (invocationMatcher instanceof MatchingInvocation) {
+          return invocationIndex.count((MatchingInvocation) invocationMatcher);
+        }
+        Chain<Invocation> invocations = invocationHistory.get();
+        int numberOfCalls = 0;
+        for (Invocation invocation : invocations) {
+          if (invocationMatcher.matches(invocation)) {
+            numberOfCalls++;
           }
         }
-        while (remainingFlipped.size() > 0) {
-          Object event = remainingFlipped.get();
-          remainingFlipped = remainingFlipped.remove();
-          if (event instanceof Invocation && invocationMatcher.matches((Invocation) event)) {
-            history.add(verified(remainingFlipped.reverse()));
-            return;
+        if (metrics.enabled) {
+          metrics.add("verify.scanned", invocations.size());
+        }
+        return numberOfCalls;
+      }
+
+      private void thenCalledInOrder(InvocationMatcher invocationMatcher) {
+        if (!invocationCursor.advance(invocationMatcher)) {
+          int truncated = truncated(invocationMatcher);
+          if (truncated > 0) {
+            throw cannotVerify(invocationMatcher, truncated);
           }
+          throw deferredAssertionError(actualInvocations(page()
+              .add(header("expected called in order"))
+              .add(body(invocationMatcher))
+              .add(header("but not called")),
+              invocationMatcher));
         }
-        throw assertionError(pageFormatter
-            .add(header("expected called in order"))
+      }
+
+      /** invocations matched regardless of arguments are still counted when truncated */
+      private boolean isCountedWhenTruncated(InvocationMatcher invocationMatcher) {
+        return invocationMatcher instanceof MatchingInvocation
+            && ((MatchingInvocation) invocationMatcher).anyArguments;
+      }
+
+      /** number of truncated invocations that invocationMatcher could match */
+      private int truncated(InvocationMatcher invocationMatcher) {
+        if (invocationMatcher instanceof MatchingInvocation) {
+          MatchingInvocation matching = (MatchingInvocation) invocationMatcher;
+          return invocationIndex.truncated(matching.instance, matching.method);
+        }
+        return invocationIndex.truncated();
+      }
+
+      private TestoryAssertionError cannotVerify(InvocationMatcher invocationMatcher, int truncated) {
+        return deferredAssertionError(page()
+            .add(header("cannot verify"))
             .add(body(invocationMatcher))
-            .add(header("but not called"))
-            .add(header("actual invocations"))
-            .add(invocationHistory.get().size() > 0
-                ? multiline(invocationHistory.get().reverse())
-                : body("none"))
-            .build());
+            .add(header("because"))
+            .add(body(truncated + " invocations truncated")));
+      }
+
+      private PageFormatter page() {
+        return pageFormatter.formatter(formatter.pinned());
+      }
+
+      /** invocations are listed from immutable chain when message is first read */
+      private PageFormatter actualInvocations(
+          PageFormatter page,
+          InvocationMatcher invocationMatcher) {
+        InvocationSummary summary = invocationSummary(
+            invocationHistory.get(),
+            invocationIndex.truncated(),
+            messageLimit);
+        if (summary.isEmpty()) {
+          return page
+              .add(header("actual invocations"))
+              .add(body("none"));
+        } else if (!summary.exceedsLimit()) {
+          return page
+              .add(header("actual invocations"))
+              .add(multiline(summary.firstAndLast()));
+        } else {
+          return page
+              .add(header("actual invocations"))
+              .add(multiline(summary.firstAndLast()))
+              .add(header("actual invocations by mock and method"))
+              .add(multiline(summary.countedByMockAndMethod()))
+              .add(header("nearest invocations"))
+              .add(multiline(summary.nearest(invocationMatcher)));
+        }
       }
     });
   }
@@ -4,11 +4,10 @@ import static java.lang.String.format;
 import static java.util.Arrays.asList;
 import static org.testory.common.Collections.last;
 import static org.testory.common.Matchers.equalDeep;
-import static org.testory.common.Matchers.listOf;
 import static org.testory.common.SequenceFormatter.sequence;
 import static org.testory.plumbing.PlumbingException.check;
+import static org.testory.plumbing.wildcard.MatchingInvocation.matchingInvocation;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -16,8 +15,8 @@ import org.testory.common.DelegatingMatcher;
 import org.testory.common.Formatter;
 import org.testory.common.Matcher;
 import org.testory.common.Matchers;
+import org.testory.common.Optional;
 import org.testory.common.SequenceFormatter;
-import org.testory.proxy.Invocation;
 import org.testory.proxy.InvocationMatcher;
 
 public class Matcherizer {
@@ -42,7 +41,14 @@ public class Matcherizer {
     List<Matcher> argumentsMatchers = invocation.mayBeFolded()
         ? fold(invocation.method.getParameterTypes().length, matchers)
         : matchers;
-    return matcherize(invocation.method, invocation.instance, argumentsMatchers);
+    return matchingInvocation(
+        invocation.method,
+        invocation.instance,
+        invocation.wildcards.isEmpty()
+            ? Optional.of(invocation.arguments)
+            : Optional.<List<Object>> empty(),
+        argumentsMatchers,
+        sequenceFormatter);
   }
 
   private List<Matcher> fold(int length, List<Matcher> unfolded) {
@@ -79,21 +85,6 @@ public class Matcherizer {
     };
   }
 
-  private InvocationMatcher matcherize(final Method method, final Object instance,
-      final List<Matcher> arguments) {
-    return new InvocationMatcher() {
-      public boolean matches(Invocation invocation) {
-        return invocation.method.equals(method)
-            && invocation.instance == instance
-            && listOf(arguments).matches(invocation.arguments);
-      }
-
-      public String toString() {
-        return format("%s.%s(%s)", instance, method.getName(), sequenceFormatter.format(arguments));
-      }
-    };
-  }
-
   private Matcher arrayOf(final List<Matcher> elements) {
     return new DelegatingMatcher(Matchers.arrayOf(elements)) {
       public String toString() {
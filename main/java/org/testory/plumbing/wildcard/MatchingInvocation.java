@@ -0,0 +1,84 @@
+package org.testory.plumbing.wildcard;
+
+import static java.lang.String.format;
+import static org.testory.common.Collections.immutable;
+import static org.testory.common.Matchers.isAnything;
+import static org.testory.common.Matchers.listOf;
+import static org.testory.plumbing.PlumbingException.check;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.testory.common.Matcher;
+import org.testory.common.Optional;
+import org.testory.common.SequenceFormatter;
+import org.testory.proxy.Invocation;
+import org.testory.proxy.InvocationMatcher;
+
+/** matches invocations of method on instance with arguments matching argument matchers */
+public class MatchingInvocation implements InvocationMatcher {
+  public final Method method;
+  public final Object instance;
+  /** present if each argument matcher is just equalDeep of that argument */
+  public final Optional<List<Object>> equalArguments;
+  /** true if each argument matcher matches anything, so arguments need not be known */
+  public final boolean anyArguments;
+  private final List<Matcher> arguments;
+  private final Matcher argumentsMatcher;
+  private final SequenceFormatter sequenceFormatter;
+
+  private MatchingInvocation(
+      Method method,
+      Object instance,
+      Optional<List<Object>> equalArguments,
+      List<Matcher> arguments,
+      SequenceFormatter sequenceFormatter) {
+    this.method = method;
+    this.instance = instance;
+    this.equalArguments = equalArguments;
+    this.anyArguments = areAnything(arguments);
+    this.arguments = arguments;
+    this.argumentsMatcher = listOf(arguments);
+    this.sequenceFormatter = sequenceFormatter;
+  }
+
+  public static MatchingInvocation matchingInvocation(
+      Method method,
+      Object instance,
+      Optional<List<Object>> equalArguments,
+      List<Matcher> arguments,
+      SequenceFormatter sequenceFormatter) {
+    check(method != null);
+    check(instance != null);
+    check(equalArguments != null);
+    check(arguments != null);
+    check(sequenceFormatter != null);
+    return new MatchingInvocation(
+        method,
+        instance,
+        equalArguments.isPresent()
+            ? Optional.of(immutable(equalArguments.get()))
+            : equalArguments,
+        immutable(arguments),
+        sequenceFormatter);
+  }
+
+  private static boolean areAnything(List<Matcher> matchers) {
+    for (Matcher matcher : matchers) {
+      if (!isAnything(matcher)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public boolean matches(Invocation invocation) {
+    return invocation.method.equals(method)
+        && invocation.instance == instance
+        && argumentsMatcher.matches(invocation.arguments);
+  }
+
+  public String toString() {
+    return format("%s.%s(%s)", instance, method.getName(), sequenceFormatter.format(arguments));
+  }
+}
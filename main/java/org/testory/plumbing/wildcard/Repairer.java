@@ -1,15 +1,12 @@
 package org.testory.plumbing.wildcard;
 
 import static java.util.Arrays.asList;
-import static java.util.Collections.nCopies;
-import static java.util.Objects.deepEquals;
-import static org.testory.common.Collections.flip;
 import static org.testory.common.Collections.last;
 import static org.testory.plumbing.PlumbingException.check;
 import static org.testory.plumbing.wildcard.WildcardInvocation.wildcardInvocation;
 
 import java.lang.reflect.Array;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.testory.plumbing.Checker;
@@ -28,102 +25,171 @@ public class Repairer {
 
   public WildcardInvocation repair(WildcardInvocation invocation) {
     check(invocation != null);
-    List<Class<?>> parameters = asList(invocation.method.getParameterTypes());
-    boolean mayBeFolded = invocation.mayBeFolded();
-    List<Object> unfolded = mayBeFolded
-        ? unfoldArguments(invocation.arguments)
-        : invocation.arguments;
-    List<Class<?>> unfoldedParameters = mayBeFolded
-        ? unfoldParameters(unfolded.size(), parameters)
-        : parameters;
-    List<Object> repairedUnfolded = repair(unfoldedParameters, unfolded, invocation);
-    List<Object> repaired = mayBeFolded
-        ? foldArguments(parameters.size(), repairedUnfolded)
-        : repairedUnfolded;
-    return wildcardInvocation(
-        invocation.method,
-        invocation.instance,
-        repaired,
-        invocation.wildcards);
+    Unfolded arguments = new Unfolded(invocation);
+    List<Wildcard> wildcards = invocation.wildcards;
+    int[] solution = new int[wildcards.size()];
+    boolean[] found = new boolean[wildcards.size()];
+    if (isSolvedByIdentity(wildcards, arguments, solution, found)) {
+      return invocation.mayBeFolded() && !(last(invocation.arguments) instanceof Object[])
+          ? repair(invocation, arguments, solution)
+          : invocation;
+    }
+    solve(wildcards, arguments, found, solution);
+    return repair(invocation, arguments, solution);
   }
 
-  private List<Object> repair(
-      List<Class<?>> parameters,
-      List<Object> arguments,
-      WildcardInvocation invocation) {
-    List<Boolean> solution = trySolveEager(invocation.wildcards, parameters, arguments);
-    if (!deepEquals(
-        flip(solution),
-        trySolveEager(flip(invocation.wildcards), flip(parameters), flip(arguments)))) {
-      checker.fail("found more than one solution");
-    }
-    List<Wildcard> wildcards = new ArrayList<>(invocation.wildcards);
-    List<Object> repaired = new ArrayList<>();
-    for (int i = 0; i < solution.size(); i++) {
-      repaired.add(solution.get(i)
-          ? wildcards.remove(0).token
-          : arguments.get(i));
+  /**
+   * each token is found exactly once and in order, so there is no other solution; also marks
+   * wildcards which tokens were found, so they can be told apart from unboxed primitive tokens
+   */
+  private static boolean isSolvedByIdentity(
+      List<Wildcard> wildcards,
+      Unfolded arguments,
+      int[] solution,
+      boolean[] found) {
+    boolean solved = true;
+    int next = 0;
+    for (int i = 0; i < arguments.size; i++) {
+      if (arguments.isPrimitive(i)) {
+        continue;
+      }
+      Object argument = arguments.get(i);
+      if (next < wildcards.size() && wildcards.get(next).token == argument) {
+        found[next] = true;
+        solution[next++] = i;
+      } else {
+        for (int w = 0; w < wildcards.size(); w++) {
+          if (wildcards.get(w).token == argument) {
+            found[w] = true;
+            solved = false;
+          }
+        }
+      }
     }
-    return repaired;
+    return solved && next == wildcards.size();
   }
 
-  private List<Boolean> trySolveEager(
+  /**
+   * Assigns wildcards in order to first arguments they fit, while counting, up to two, all ways to
+   * assign them in order. Wildcard fits argument that is its token, or any primitive argument if
+   * its token was not found, because unboxed primitive token is not identical to wildcard token.
+   */
+  private void solve(
       List<Wildcard> wildcards,
-      List<Class<?>> parameters,
-      List<Object> arguments) {
-    List<Boolean> solution = new ArrayList<>(nCopies(arguments.size(), false));
-    int nextIndex = 0;
-    nextWildcard: for (Wildcard wildcard : wildcards) {
-      for (int i = nextIndex; i < arguments.size(); i++) {
-        if (wildcard.token == arguments.get(i)) {
-          solution.set(i, true);
-          nextIndex = i + 1;
-          continue nextWildcard;
+      Unfolded arguments,
+      boolean[] found,
+      int[] solution) {
+    int[] ways = new int[wildcards.size() + 1];
+    ways[0] = 1;
+    int next = 0;
+    for (int i = 0; i < arguments.size; i++) {
+      boolean isPrimitive = arguments.isPrimitive(i);
+      Object argument = isPrimitive
+          ? null
+          : arguments.get(i);
+      for (int w = wildcards.size() - 1; w >= 0; w--) {
+        if (fits(wildcards.get(w), found[w], isPrimitive, argument)) {
+          ways[w + 1] = Math.min(2, ways[w + 1] + ways[w]);
         }
       }
-      for (int i = nextIndex; i < arguments.size(); i++) {
-        if (parameters.get(i).isPrimitive()) {
-          solution.set(i, true);
-          nextIndex = i + 1;
-          continue nextWildcard;
-        }
+      if (next < wildcards.size() && fits(wildcards.get(next), found[next], isPrimitive, argument)) {
+        solution[next++] = i;
       }
+    }
+    if (ways[wildcards.size()] == 0) {
       checker.fail("cannot find any solution");
     }
-    return solution;
+    if (ways[wildcards.size()] > 1) {
+      checker.fail("found more than one solution");
+    }
   }
 
-  private static List<Class<?>> unfoldParameters(int size, List<Class<?>> parameters) {
-    List<Class<?>> unfolded = new ArrayList<>();
-    unfolded.addAll(parameters.subList(0, parameters.size() - 1));
-    unfolded.addAll(nCopies(size - (parameters.size() - 1), last(parameters).getComponentType()));
-    return unfolded;
+  private static boolean fits(
+      Wildcard wildcard,
+      boolean found,
+      boolean isPrimitive,
+      Object argument) {
+    return isPrimitive
+        ? !found
+        : wildcard.token == argument;
   }
 
-  private static List<Object> unfoldArguments(List<?> folded) {
-    ArrayList<Object> unfolded = new ArrayList<>();
-    unfolded.addAll(folded.subList(0, folded.size() - 1));
-    unfolded.addAll(asBoxingList(last(folded)));
-    return unfolded;
+  private static WildcardInvocation repair(
+      WildcardInvocation invocation,
+      Unfolded arguments,
+      int[] solution) {
+    Object[] repaired = arguments.fixedToArray();
+    Object[] repairedVarargs = arguments.varargsToArray();
+    for (int w = 0; w < solution.length; w++) {
+      Object token = invocation.wildcards.get(w).token;
+      int i = solution[w];
+      if (i < repaired.length) {
+        repaired[i] = token;
+      } else {
+        repairedVarargs[i - repaired.length] = token;
+      }
+    }
+    if (repairedVarargs != null) {
+      repaired = Arrays.copyOf(repaired, repaired.length + 1);
+      repaired[repaired.length - 1] = repairedVarargs;
+    }
+    return wildcardInvocation(
+        invocation.method,
+        invocation.instance,
+        asList(repaired),
+        invocation.wildcards);
   }
 
-  private static List<Object> asBoxingList(Object array) {
-    List<Object> list = new ArrayList<>();
-    for (int i = 0; i < Array.getLength(array); i++) {
-      list.add(Array.get(array, i));
+  /** arguments with elements of varargs array in place of array, if there may be any() inside */
+  private static class Unfolded {
+    final List<Object> arguments;
+    final Class<?>[] parameters;
+    final int fixed;
+    final Object varargs;
+    final boolean isPrimitiveVarargs;
+    final int size;
+
+    Unfolded(WildcardInvocation invocation) {
+      arguments = invocation.arguments;
+      parameters = invocation.method.getParameterTypes();
+      if (invocation.mayBeFolded()) {
+        fixed = parameters.length - 1;
+        varargs = last(arguments);
+        isPrimitiveVarargs = last(parameters).getComponentType().isPrimitive();
+        size = fixed + Array.getLength(varargs);
+      } else {
+        fixed = parameters.length;
+        varargs = null;
+        isPrimitiveVarargs = false;
+        size = fixed;
+      }
     }
-    return list;
-  }
 
-  private static List<Object> foldArguments(int length, List<Object> arguments) {
-    List<Object> folded = new ArrayList<>();
-    folded.addAll(arguments.subList(0, length - 1));
-    folded.add(asArray(arguments.subList(length - 1, arguments.size())));
-    return folded;
-  }
+    boolean isPrimitive(int index) {
+      return index < fixed
+          ? parameters[index].isPrimitive()
+          : isPrimitiveVarargs;
+    }
+
+    Object get(int index) {
+      return index < fixed
+          ? arguments.get(index)
+          : Array.get(varargs, index - fixed);
+    }
+
+    Object[] fixedToArray() {
+      return arguments.subList(0, fixed).toArray();
+    }
 
-  private static Object asArray(List<Object> elements) {
-    Object array = Array.newInstance(Object.class, 0);
-    return elements.toArray((Object[]) array);
+    Object[] varargsToArray() {
+      if (varargs == null) {
+        return null;
+      }
+      Object[] array = new Object[size - fixed];
+      for (int i = 0; i < array.length; i++) {
+        array[i] = Array.get(varargs, i);
+      }
+      return array;
+    }
   }
 }
@@ -8,10 +8,17 @@ import static org.testory.proxy.handler.ReturningHandler.returning;
 import java.lang.reflect.Array;
 import java.lang.reflect.Modifier;
 
+import org.objenesis.Objenesis;
 import org.objenesis.ObjenesisStd;
+import org.objenesis.instantiator.ObjectInstantiator;
+import org.testory.proxy.Handler;
 import org.testory.proxy.Proxer;
+import org.testory.proxy.Typing;
 
 public class Tokenizer {
+  private static final Objenesis objenesis = new ObjenesisStd(false);
+  private static final Handler returningNull = returning(null);
+
   private final Proxer proxer;
 
   private Tokenizer(Proxer proxer) {
@@ -28,11 +35,25 @@ public class Tokenizer {
     if (type.isArray()) {
       return (T) Array.newInstance(type.getComponentType(), 0);
     } else if (type.isPrimitive()) {
-      return (T) new ObjenesisStd().newInstance(tryWrap(type));
+      return (T) instantiators.get(tryWrap(type)).newInstance();
     } else if (!Modifier.isAbstract(type.getModifiers())) {
-      return new ObjenesisStd().newInstance(type);
+      return type.cast(instantiators.get(type).newInstance());
     } else {
-      return (T) proxer.proxy(subclassing(type), returning(null));
+      return (T) proxer.proxy(typings.get(type), returningNull);
     }
   }
+
+  private static final ClassValue<ObjectInstantiator<?>> instantiators =
+      new ClassValue<ObjectInstantiator<?>>() {
+        protected ObjectInstantiator<?> computeValue(Class<?> type) {
+          return objenesis.getInstantiatorOf(type);
+        }
+      };
+
+  /** proxer reuses proxy class for same typing, so each token costs only new instance */
+  private static final ClassValue<Typing> typings = new ClassValue<Typing>() {
+    protected Typing computeValue(Class<?> type) {
+      return subclassing(type);
+    }
+  };
 }
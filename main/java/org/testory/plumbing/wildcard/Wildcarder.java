@@ -1,40 +1,39 @@
 package org.testory.plumbing.wildcard;
 
 import static java.lang.String.format;
+import static org.testory.common.Chain.chain;
 import static org.testory.common.Matchers.asMatcher;
 import static org.testory.common.Matchers.equalDeep;
 import static org.testory.common.Matchers.isMatcher;
 import static org.testory.common.Matchers.same;
 import static org.testory.plumbing.PlumbingException.check;
-import static org.testory.plumbing.wildcard.Consumed.consumed;
 import static org.testory.plumbing.wildcard.Wildcard.wildcard;
 import static org.testory.plumbing.wildcard.WildcardInvocation.wildcardInvocation;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import org.testory.common.Chain;
 import org.testory.common.DelegatingMatcher;
 import org.testory.common.Formatter;
 import org.testory.common.Matcher;
 import org.testory.common.Matchers;
-import org.testory.plumbing.history.History;
 import org.testory.proxy.Invocation;
 import org.testory.proxy.InvocationMatcher;
 
 public class Wildcarder {
-  private final History history;
   private final Tokenizer tokenizer;
   private final Repairer repairer;
   private final Matcherizer matcherizer;
   private final Formatter formatter;
+  /** wildcards not consumed yet, newest first */
+  private Chain<Wildcard> pending = chain();
 
   private Wildcarder(
-      History history,
       Tokenizer tokenizer,
       Repairer repairer,
       Matcherizer matcherizer,
       Formatter formatter) {
-    this.history = history;
     this.tokenizer = tokenizer;
     this.repairer = repairer;
     this.matcherizer = matcherizer;
@@ -42,17 +41,15 @@ public class Wildcarder {
   }
 
   public static Wildcarder wildcarder(
-      History history,
       Tokenizer tokenizer,
       Repairer repairer,
       Matcherizer matcherizer,
       Formatter formatter) {
-    check(history != null);
     check(tokenizer != null);
     check(repairer != null);
     check(matcherizer != null);
     check(formatter != null);
-    return new Wildcarder(history, tokenizer, repairer, matcherizer, formatter);
+    return new Wildcarder(tokenizer, repairer, matcherizer, formatter);
   }
 
   public Object any(final Class<?> type) {
@@ -114,10 +111,14 @@ public class Wildcarder {
 
   private Object anyImpl(Matcher matcher, Class<?> type) {
     Object token = tokenizer.token(type);
-    history.add(wildcard(matcher, token));
+    push(wildcard(matcher, token));
     return token;
   }
 
+  private synchronized void push(Wildcard wildcard) {
+    pending = pending.add(wildcard);
+  }
+
   public InvocationMatcher matcherize(Invocation invocation) {
     check(invocation != null);
     List<Wildcard> wildcards = consume();
@@ -129,16 +130,17 @@ public class Wildcarder {
     return matcherizer.matcherize(repairer.repair(wildcardInvocation));
   }
 
-  private List<Wildcard> consume() {
-    List<Wildcard> wildcards = new ArrayList<>();
-    for (Object event : history.get()) {
-      if (event instanceof Wildcard) {
-        wildcards.add(0, (Wildcard) event);
-      } else if (event instanceof Consumed) {
-        break;
-      }
+  private synchronized List<Wildcard> consume() {
+    List<Wildcard> wildcards = new ArrayList<>(pending.size());
+    for (Wildcard wildcard : pending.reverse()) {
+      wildcards.add(wildcard);
     }
-    history.add(consumed());
+    pending = chain();
     return wildcards;
   }
+
+  /** drops wildcards left by statement that did not complete */
+  public synchronized void purge() {
+    pending = chain();
+  }
 }
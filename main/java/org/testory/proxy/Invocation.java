@@ -1,43 +1,86 @@
 package org.testory.proxy;
 
 import static java.lang.String.format;
+import static java.lang.invoke.MethodType.genericMethodType;
 import static java.util.Objects.deepEquals;
 import static java.util.Objects.hash;
 import static org.testory.common.Classes.canInvoke;
 import static org.testory.common.Classes.setAccessible;
-import static org.testory.common.Collections.immutable;
 import static org.testory.proxy.ProxyException.check;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.AbstractList;
 import java.util.List;
+import java.util.RandomAccess;
+
+import org.testory.common.Cache;
 
 public class Invocation {
   public final Method method;
   public final Object instance;
   public final List<Object> arguments;
+  private final Object[] argumentsArray;
 
-  private Invocation(Method method, Object instance, List<Object> arguments) {
+  private Invocation(Method method, Object instance, Object[] argumentsArray) {
     this.method = method;
     this.instance = instance;
-    this.arguments = arguments;
+    this.arguments = new Arguments(argumentsArray);
+    this.argumentsArray = argumentsArray;
   }
 
   public static Invocation invocation(Method method, Object instance, List<?> arguments) {
     check(method != null);
     check(!Modifier.isStatic(method.getModifiers()));
     check(arguments != null);
-    check(canInvoke(method, instance, arguments.toArray()));
-    return new Invocation(method, instance, immutable(arguments));
+    Object[] argumentsArray = arguments.toArray();
+    check(canInvoke(method, instance, argumentsArray));
+    return new Invocation(method, instance, argumentsArray);
+  }
+
+  /**
+   * takes ownership of arguments array without copying it or checking that method can be invoked
+   * with it, so it is meant for proxies that intercepted invocation and must not modify array later;
+   * looked up by name from proxer package
+   */
+  static Invocation invocationOf(Method method, Object instance, Object[] arguments) {
+    check(method != null);
+    check(!Modifier.isStatic(method.getModifiers()));
+    check(arguments != null);
+    return new Invocation(method, instance, arguments);
   }
 
   public Object invoke() throws Throwable {
+    return (Object) invoker(method).invokeExact(instance, argumentsArray);
+  }
+
+  /** accessible handle of type (Object, Object[])Object, created once for each method */
+  private static MethodHandle invoker(Method method) {
+    return invokers.get(method.getDeclaringClass()).get(method);
+  }
+
+  /** kept with declaring class, so caching does not prevent unloading classes */
+  private static final ClassValue<Cache<Method, MethodHandle>> invokers =
+      new ClassValue<Cache<Method, MethodHandle>>() {
+        protected Cache<Method, MethodHandle> computeValue(Class<?> type) {
+          return new Cache<Method, MethodHandle>() {
+            protected MethodHandle compute(Method method) {
+              return newInvoker(method);
+            }
+          };
+        }
+      };
+
+  private static MethodHandle newInvoker(Method method) {
     setAccessible(method);
+    int length = method.getParameterTypes().length;
     try {
-      return method.invoke(instance, arguments.toArray());
-    } catch (InvocationTargetException e) {
-      throw e.getCause();
+      return MethodHandles.lookup().unreflect(method)
+          .asFixedArity()
+          .asType(genericMethodType(length + 1))
+          .asSpreader(Object[].class, length);
     } catch (ReflectiveOperationException e) {
       throw new Error(e);
     }
@@ -68,4 +111,21 @@ public class Invocation {
   public String toString() {
     return format("invocation(%s, %s, %s)", method, instance, arguments);
   }
+
+  /** read-only view of arguments array */
+  private static class Arguments extends AbstractList<Object> implements RandomAccess {
+    private final Object[] array;
+
+    Arguments(Object[] array) {
+      this.array = array;
+    }
+
+    public Object get(int index) {
+      return array[index];
+    }
+
+    public int size() {
+      return array.length;
+    }
+  }
 }
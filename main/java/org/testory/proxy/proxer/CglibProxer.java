@@ -1,18 +1,26 @@
 package org.testory.proxy.proxer;
 
-import static org.testory.proxy.Invocation.invocation;
+import static org.testory.common.Metrics.noMetrics;
+import static org.testory.proxy.proxer.Intercepted.intercepted;
 import static org.testory.proxy.ProxyException.check;
 
 import java.io.Serializable;
 import java.lang.reflect.Method;
-import java.util.Arrays;
 import java.util.List;
 
+import org.objenesis.Objenesis;
 import org.objenesis.ObjenesisStd;
+import org.objenesis.instantiator.ObjectInstantiator;
+import org.testory.common.Cache;
+import org.testory.common.Metrics;
+import org.testory.common.Nullable;
 import org.testory.proxy.Handler;
 import org.testory.proxy.Proxer;
 import org.testory.proxy.Typing;
 
+import net.sf.cglib.core.ClassGenerator;
+import net.sf.cglib.core.DefaultGeneratorStrategy;
+import net.sf.cglib.core.GeneratorStrategy;
 import net.sf.cglib.proxy.Callback;
 import net.sf.cglib.proxy.CallbackFilter;
 import net.sf.cglib.proxy.Enhancer;
@@ -22,38 +30,112 @@ import net.sf.cglib.proxy.MethodProxy;
 import net.sf.cglib.proxy.NoOp;
 
 public class CglibProxer implements Proxer {
-  private CglibProxer() {}
+  private final Metrics metrics;
+
+  private CglibProxer(Metrics metrics) {
+    this.metrics = metrics;
+  }
 
   public static Proxer cglibProxer() {
-    return new CglibProxer();
+    return new CglibProxer(noMetrics());
+  }
+
+  public static Proxer cglibProxer(Metrics metrics) {
+    check(metrics != null);
+    return new CglibProxer(metrics);
   }
 
   public Object proxy(Typing typing, Handler handler) {
     check(typing != null);
     check(handler != null);
+    if (metrics.enabled) {
+      metrics.add("proxy.instances", 1);
+    }
     return newProxyByCglib(typing, handler);
   }
 
-  private static Object newProxyByCglib(Typing typing, Handler handler) {
+  private Object newProxyByCglib(Typing typing, Handler handler) {
+    Factory proxy = (Factory) instantiatorOf(typing).newInstance();
+    proxy.setCallbacks(new Callback[] { asMethodInterceptor(handler), new SerializableNoOp() });
+    return proxy;
+  }
+
+  private static final int maxInstantiators = 256;
+
+  /**
+   * Instantiators of proxy classes. Keys and values hold class loaders strongly and proxer may live
+   * as long as thread that uses it, so cache is bounded. Evicted classes are still cached weakly by
+   * cglib, so they are not generated again while their class loader is alive.
+   */
+  private final Cache<ProxyClassKey, ObjectInstantiator<?>> instantiators =
+      new Cache<ProxyClassKey, ObjectInstantiator<?>>(maxInstantiators) {
+        protected ObjectInstantiator<?> compute(ProxyClassKey key) {
+          return newInstantiator(key);
+        }
+      };
+
+  private ObjectInstantiator<?> instantiatorOf(Typing typing) {
+    return instantiators.get(
+        new ProxyClassKey(typing, Thread.currentThread().getContextClassLoader()));
+  }
+
+  private ObjectInstantiator<?> newInstantiator(ProxyClassKey key) {
     Enhancer enhancer = new Enhancer() {
       /** includes all constructors */
       protected void filterConstructors(Class sc, List constructors) {}
     };
-    enhancer.setClassLoader(Thread.currentThread().getContextClassLoader());
+    enhancer.setClassLoader(key.classLoader);
     enhancer.setUseFactory(true);
-    enhancer.setSuperclass(typing.superclass);
-    enhancer.setInterfaces(typing.interfaces.toArray(new Class[0]));
+    enhancer.setSuperclass(key.typing.superclass);
+    enhancer.setInterfaces(key.typing.interfaces.toArray(new Class[0]));
     enhancer.setCallbackTypes(new Class[] { MethodInterceptor.class, NoOp.class });
-    enhancer.setCallbackFilter(new CallbackFilter() {
-      /** ignores bridge methods */
-      public int accept(Method method) {
-        return method.isBridge() ? 1 : 0;
-      }
-    });
+    enhancer.setCallbackFilter(ignoringBridgeMethods);
+    if (metrics.enabled) {
+      enhancer.setStrategy(measuredStrategy);
+    }
     Class<?> proxyClass = enhancer.createClass();
-    Factory proxy = (Factory) new ObjenesisStd().newInstance(proxyClass);
-    proxy.setCallbacks(new Callback[] { asMethodInterceptor(handler), new SerializableNoOp() });
-    return proxy;
+    return objenesis.getInstantiatorOf(proxyClass);
+  }
+
+  /** called by cglib only when class is not found in its own cache and is really generated */
+  private final GeneratorStrategy measuredStrategy = new DefaultGeneratorStrategy() {
+    public byte[] generate(ClassGenerator generator) throws Exception {
+      long start = System.nanoTime();
+      byte[] bytecode = super.generate(generator);
+      metrics.add("proxy.classes", 1);
+      metrics.add("proxy.classes.nanos", System.nanoTime() - start);
+      return bytecode;
+    }
+  };
+
+  private static final Objenesis objenesis = new ObjenesisStd(false);
+
+  private static final CallbackFilter ignoringBridgeMethods = new CallbackFilter() {
+    /** ignores bridge methods */
+    public int accept(Method method) {
+      return method.isBridge() ? 1 : 0;
+    }
+  };
+
+  private static class ProxyClassKey {
+    final Typing typing;
+    @Nullable
+    final ClassLoader classLoader;
+
+    ProxyClassKey(Typing typing, ClassLoader classLoader) {
+      this.typing = typing;
+      this.classLoader = classLoader;
+    }
+
+    public boolean equals(Object object) {
+      return object instanceof ProxyClassKey
+          && typing.equals(((ProxyClassKey) object).typing)
+          && classLoader == ((ProxyClassKey) object).classLoader;
+    }
+
+    public int hashCode() {
+      return typing.hashCode() * 31 + System.identityHashCode(classLoader);
+    }
   }
 
   private static MethodInterceptor asMethodInterceptor(final Handler handler) {
@@ -62,7 +144,7 @@ public class CglibProxer implements Proxer {
           throws Throwable {
         return isFinalize(method)
             ? null
-            : handler.handle(invocation(method, obj, Arrays.asList(args)));
+            : handler.handle(intercepted(method, obj, args));
       }
     };
   }
@@ -3,6 +3,7 @@ package org.testory.proxy.proxer;
 import static org.testory.proxy.ProxyException.check;
 import static org.testory.proxy.Typing.typing;
 
+import org.testory.common.Cache;
 import org.testory.proxy.Handler;
 import org.testory.proxy.Proxer;
 import org.testory.proxy.Typing;
@@ -22,9 +23,17 @@ public class FixObjectBugProxer implements Proxer {
   public Object proxy(Typing typing, Handler handler) {
     check(typing != null);
     check(handler != null);
-    return proxer.proxy(fix(typing), handler);
+    return proxer.proxy(fixed.get(typing), handler);
   }
 
+  private static final int maxTypings = 256;
+
+  private final Cache<Typing, Typing> fixed = new Cache<Typing, Typing>(maxTypings) {
+    protected Typing compute(Typing typing) {
+      return fix(typing);
+    }
+  };
+
   private static Typing fix(Typing typing) {
     return typing.superclass == Object.class
         ? typing(ProxiableObject.class, typing.interfaces)
@@ -0,0 +1,36 @@
+package org.testory.proxy.proxer;
+
+import static org.testory.common.Classes.setAccessible;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+
+import org.testory.proxy.Invocation;
+
+/**
+ * Creates invocations intercepted by proxies, adopting arguments array without copying it.
+ * Adopting factory is package-private in {@link Invocation} and reached only from here, so it is
+ * not part of public api.
+ */
+class Intercepted {
+  private static final MethodHandle invocationOf = invocationOf();
+
+  private Intercepted() {}
+
+  static Invocation intercepted(Method method, Object instance, Object[] arguments)
+      throws Throwable {
+    return (Invocation) invocationOf.invokeExact(method, instance, arguments);
+  }
+
+  private static MethodHandle invocationOf() {
+    try {
+      Method method = Invocation.class.getDeclaredMethod(
+          "invocationOf", Method.class, Object.class, Object[].class);
+      setAccessible(method);
+      return MethodHandles.lookup().unreflect(method);
+    } catch (ReflectiveOperationException e) {
+      throw new LinkageError(null, e);
+    }
+  }
+}
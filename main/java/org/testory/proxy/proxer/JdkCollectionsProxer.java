@@ -7,6 +7,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
 
+import org.testory.common.Cache;
 import org.testory.proxy.Handler;
 import org.testory.proxy.Proxer;
 import org.testory.proxy.Typing;
@@ -26,9 +27,17 @@ public class JdkCollectionsProxer implements Proxer {
   public Object proxy(Typing typing, Handler handler) {
     check(typing != null);
     check(handler != null);
-    return proxer.proxy(peelUntilNeeded(typing), handler);
+    return proxer.proxy(peeled.get(typing), handler);
   }
 
+  private static final int maxTypings = 256;
+
+  private final Cache<Typing, Typing> peeled = new Cache<Typing, Typing>(maxTypings) {
+    protected Typing compute(Typing typing) {
+      return peelUntilNeeded(typing);
+    }
+  };
+
   private static Typing peelUntilNeeded(Typing typing) {
     return requiresPeeling(typing.superclass)
         ? peelUntilNeeded(typing.peel())
@@ -7,6 +7,7 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.testory.common.Cache;
 import org.testory.proxy.Handler;
 import org.testory.proxy.Proxer;
 import org.testory.proxy.Typing;
@@ -28,9 +29,17 @@ public class RepeatableProxer implements Proxer {
   public Object proxy(Typing typing, Handler handler) {
     check(typing != null);
     check(handler != null);
-    return proxer.proxy(tryWithoutFactory(typing), handler);
+    return proxer.proxy(withoutFactory.get(typing), handler);
   }
 
+  private static final int maxTypings = 256;
+
+  private final Cache<Typing, Typing> withoutFactory = new Cache<Typing, Typing>(maxTypings) {
+    protected Typing compute(Typing typing) {
+      return tryWithoutFactory(typing);
+    }
+  };
+
   private static Typing tryWithoutFactory(Typing typing) {
     return Arrays.asList(typing.superclass.getInterfaces()).contains(Factory.class)
         ? withoutFactory(typing)
@@ -7,15 +7,20 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.testory.Testory.given;
 import static org.testory.Testory.givenTest;
 import static org.testory.Testory.willReturn;
+import static org.testory.TestoryFacade.testoryFacade;
+import static org.testory.plumbing.Checker.checker;
+import static org.testory.plumbing.facade.Configuration.configuration;
+import static org.testory.plumbing.history.ConcurrentHistory.newConcurrentHistory;
 import static org.testory.plumbing.inject.ArrayMaker.singletonArray;
-import static org.testory.plumbing.inject.ChainedMaker.chain;
 import static org.testory.plumbing.inject.FinalMaker.finalMaker;
+import static org.testory.plumbing.inject.MakerRegistry.makerRegistry;
 import static org.testory.plumbing.inject.RandomPrimitiveMaker.randomPrimitiveMaker;
 import static org.testory.testing.HamcrestMatchers.hasMessageContaining;
 import static org.testory.testing.Reflections.readDeclaredFields;
@@ -30,12 +35,16 @@ import java.util.List;
 
 import org.junit.Test;
 import org.testory.plumbing.Maker;
+import org.testory.plumbing.inject.TypeMaker;
 import org.testory.proxy.Invocation;
 import org.testory.proxy.InvocationMatcher;
 
 public class TestGivenTest {
   private static final String string = "string";
-  private static final Maker maker = singletonArray(chain(randomPrimitiveMaker(), finalMaker()));
+  private static final Maker maker = singletonArray(makerRegistry()
+      .register(randomPrimitiveMaker())
+      .register(finalMaker())
+      .checking(checker(newConcurrentHistory(), TestoryException.class)));
   private List<Object> fields;
 
   @Test
@@ -689,6 +698,45 @@ public class TestGivenTest {
     }
   }
 
+  @Test
+  public void injects_final_class_made_by_registered_maker() {
+    final class FinalClass {}
+    class TestClass {
+      FinalClass field;
+    }
+    final FinalClass made = new FinalClass();
+    TestClass test = new TestClass();
+    testoryFacade(configuration()
+        .register(FinalClass.class, new Maker() {
+          public <T> T make(Class<T> type, String name) {
+            return (T) made;
+          }
+        }))
+        .givenTest(test);
+    assertSame(made, test.field);
+  }
+
+  @Test
+  public void prefers_registered_type_maker_over_mock() {
+    class TestClass {
+      Interface field;
+    }
+    final Interface made = new Interface() {};
+    TestClass test = new TestClass();
+    testoryFacade(configuration()
+        .register(new TypeMaker() {
+          public boolean canMake(Class<?> type) {
+            return type == Interface.class;
+          }
+
+          public <T> T make(Class<T> type, String name) {
+            return (T) made;
+          }
+        }))
+        .givenTest(test);
+    assertSame(made, test.field);
+  }
+
   private static void assertContainsMocks(Object instance) {
     try {
       for (Field field : injectableFields(instance.getClass())) {
@@ -1,9 +1,12 @@
 package org.testory;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 import static org.testory.Testory.givenTry;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 import org.junit.Before;
@@ -37,6 +40,18 @@ public class TestGivenTry {
     }).call();
   }
 
+  @Test
+  public void proxy_keeps_calling_its_instance() {
+    List<String> first = new ArrayList<>();
+    List<String> second = new ArrayList<>();
+    List<String> proxy = givenTry(first);
+    proxy.add("a");
+    givenTry(second);
+    proxy.add("b");
+    assertEquals(asList("a", "b"), first);
+    assertEquals(asList(), second);
+  }
+
   @Test
   public void invocation_instance_cannot_be_null() {
     try {
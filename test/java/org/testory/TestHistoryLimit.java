@@ -0,0 +1,129 @@
+package org.testory;
+
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.testory.TestoryFacade.testoryFacade;
+import static org.testory.plumbing.facade.Configuration.configuration;
+import static org.testory.testing.DynamicMatchers.number;
+import static org.testory.testing.HamcrestMatchers.hasMessageContaining;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.testory.plumbing.facade.Facade;
+
+public class TestHistoryLimit {
+  private Facade facade;
+  private Mockable mock;
+
+  @Before
+  public void before() {
+    facade = testoryFacade(configuration().historyLimit(10));
+    mock = facade.mock(Mockable.class);
+  }
+
+  @Test
+  public void counts_truncated_invocations() {
+    for (int i = 0; i < 100; i++) {
+      mock.invoke();
+    }
+    facade.thenCalledTimes(100, mock).invoke();
+  }
+
+  @Test
+  public void cannot_verify_truncated_invocations_with_arguments() {
+    for (int i = 0; i < 100; i++) {
+      mock.invoke(i);
+    }
+    try {
+      facade.thenCalledTimes(0, mock).invoke(0);
+      fail();
+    } catch (TestoryAssertionError e) {
+      assertThat(e, hasMessageContaining("cannot verify"));
+      assertThat(e, hasMessageContaining("invocations truncated"));
+    }
+  }
+
+  @Test
+  public void counts_truncated_invocations_with_any_arguments() {
+    for (int i = 0; i < 100; i++) {
+      mock.invoke(i);
+    }
+    facade.thenCalledTimes(100, mock).invoke(facade.any(int.class));
+  }
+
+  @Test
+  public void cannot_verify_truncated_invocations_with_argument_matcher() {
+    for (int i = 0; i < 100; i++) {
+      mock.invoke(i);
+    }
+    try {
+      facade.thenCalledTimes(0, mock).invoke(facade.any(int.class, number(0)));
+      fail();
+    } catch (TestoryAssertionError e) {
+      assertThat(e, hasMessageContaining("cannot verify"));
+    }
+  }
+
+  @Test
+  public void cannot_verify_truncated_invocations_with_custom_matcher() {
+    for (int i = 0; i < 100; i++) {
+      mock.invoke();
+    }
+    try {
+      facade.thenCalledTimes(0, facade.onInstance(mock));
+      fail();
+    } catch (TestoryAssertionError e) {
+      assertThat(e, hasMessageContaining("cannot verify"));
+    }
+  }
+
+  @Test
+  public void verifies_invocations_of_other_method_despite_truncation() {
+    for (int i = 0; i < 100; i++) {
+      mock.invoke();
+    }
+    mock.invoke(0);
+    facade.thenCalledTimes(1, mock).invoke(0);
+  }
+
+  @Test
+  public void verifies_kept_invocations_in_order() {
+    for (int i = 0; i < 100; i++) {
+      mock.invoke(i);
+    }
+    facade.thenCalledInOrder(mock).invoke(98);
+    facade.thenCalledInOrder(mock).invoke(99);
+  }
+
+  @Test
+  public void cannot_verify_in_order_if_invocation_could_be_truncated() {
+    for (int i = 0; i < 100; i++) {
+      mock.invoke(i);
+    }
+    try {
+      facade.thenCalledInOrder(mock).invoke(0);
+      fail();
+    } catch (TestoryAssertionError e) {
+      assertThat(e, hasMessageContaining("cannot verify"));
+    }
+  }
+
+  @Test
+  public void failure_prints_number_of_truncated_invocations() {
+    for (int i = 0; i < 100; i++) {
+      mock.invoke();
+    }
+    try {
+      facade.thenCalledTimes(1, mock).invoke();
+      fail();
+    } catch (TestoryAssertionError e) {
+      assertThat(e, hasMessageContaining("earlier invocations truncated\n"));
+    }
+  }
+
+  private static abstract class Mockable {
+    abstract void invoke();
+
+    abstract void invoke(int argument);
+  }
+}
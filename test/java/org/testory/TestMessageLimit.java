@@ -0,0 +1,103 @@
+package org.testory;
+
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.testory.TestoryFacade.testoryFacade;
+import static org.testory.plumbing.facade.Configuration.configuration;
+import static org.testory.testing.HamcrestMatchers.hasMessageContaining;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.testory.plumbing.facade.Facade;
+
+public class TestMessageLimit {
+  private Facade facade;
+  private Mockable mock;
+
+  @Before
+  public void before() {
+    facade = testoryFacade(configuration().messageLimit(4));
+    mock = facade.mock(Mockable.class);
+  }
+
+  @Test
+  public void failure_prints_all_invocations_within_limit() {
+    for (int i = 0; i < 4; i++) {
+      mock.invoke(i);
+    }
+    try {
+      facade.thenCalled(mock).invoke(4);
+      fail();
+    } catch (TestoryAssertionError e) {
+      assertThat(e, hasMessageContaining(""
+          + "  actual invocations\n"
+          + "    mockMockable0.invoke(0)\n"
+          + "    mockMockable0.invoke(1)\n"
+          + "    mockMockable0.invoke(2)\n"
+          + "    mockMockable0.invoke(3)\n"));
+      assertThat(e, not(hasMessageContaining("by mock and method")));
+    }
+  }
+
+  @Test
+  public void failure_prints_first_and_last_invocations() {
+    for (int i = 0; i < 100; i++) {
+      mock.invoke(i);
+    }
+    try {
+      facade.thenCalled(mock).invoke(100);
+      fail();
+    } catch (TestoryAssertionError e) {
+      assertThat(e, hasMessageContaining(""
+          + "  actual invocations\n"
+          + "    mockMockable0.invoke(0)\n"
+          + "    mockMockable0.invoke(1)\n"
+          + "    ... 96 invocations omitted\n"
+          + "    mockMockable0.invoke(98)\n"
+          + "    mockMockable0.invoke(99)\n"));
+    }
+  }
+
+  @Test
+  public void failure_counts_invocations_by_mock_and_method() {
+    for (int i = 0; i < 100; i++) {
+      mock.invoke(i);
+    }
+    mock.other();
+    try {
+      facade.thenCalled(mock).invoke(100);
+      fail();
+    } catch (TestoryAssertionError e) {
+      assertThat(e, hasMessageContaining(""
+          + "  actual invocations by mock and method\n"
+          + "    100 times mockMockable0.invoke\n"
+          + "    1 times mockMockable0.other\n"));
+    }
+  }
+
+  @Test
+  public void failure_prints_nearest_invocations() {
+    for (int i = 0; i < 100; i++) {
+      mock.invoke(i);
+      mock.other();
+    }
+    try {
+      facade.thenCalledInOrder(mock).invoke(100);
+      fail();
+    } catch (TestoryAssertionError e) {
+      assertThat(e, hasMessageContaining(""
+          + "  nearest invocations\n"
+          + "    mockMockable0.invoke(96)\n"
+          + "    mockMockable0.invoke(97)\n"
+          + "    mockMockable0.invoke(98)\n"
+          + "    mockMockable0.invoke(99)\n"));
+    }
+  }
+
+  private static abstract class Mockable {
+    abstract void invoke(int argument);
+
+    abstract void other();
+  }
+}
@@ -0,0 +1,147 @@
+package org.testory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.testory.TestoryFacade.testoryFacade;
+import static org.testory.common.Metrics.metrics;
+import static org.testory.plumbing.facade.Configuration.configuration;
+
+import java.util.Map;
+
+import org.junit.Test;
+import org.testory.plumbing.facade.Facade;
+
+public class TestMetrics {
+  private Facade facade;
+  private Mockable mock;
+  private Map<String, Long> metrics;
+
+  @Test
+  public void metrics_are_disabled_by_default() {
+    facade = testoryFacade(configuration());
+    mock = facade.mock(Mockable.class);
+    mock.invoke();
+
+    metrics = facade.metrics();
+
+    assertTrue(metrics.isEmpty());
+  }
+
+  @Test
+  public void counts_proxies_and_recorded_invocations() {
+    facade = enabledFacade();
+    mock = facade.mock(Mockable.class);
+    mock.invoke();
+    mock.invoke();
+
+    metrics = facade.metrics();
+
+    assertTrue(metrics.get("proxy.instances") >= 1);
+    assertEquals((Long) 2L, metrics.get("invocations.recorded"));
+    assertTrue(metrics.get("history.size") >= 2);
+  }
+
+  @Test
+  public void counts_evaluated_stub_matchers() {
+    facade = enabledFacade();
+    mock = facade.mock(Mockable.class);
+    facade.given(facade.willReturn(1), mock).get(1);
+    facade.given(facade.willReturn(2), mock).get(2);
+    mock.get(1);
+
+    metrics = facade.metrics();
+
+    assertEquals((Long) 2L, metrics.get("stubs.matchers.max"));
+  }
+
+  @Test
+  public void counts_purge_cuts() {
+    facade = enabledFacade();
+    mock = facade.mock(Mockable.class);
+    facade.when(mock).invoke();
+    facade.given(true);
+
+    metrics = facade.metrics();
+
+    assertEquals((Long) 1L, metrics.get("history.cuts"));
+    assertTrue(metrics.get("history.cut.events") > 0);
+  }
+
+  @Test
+  public void counts_scanned_invocations() {
+    facade = enabledFacade();
+    mock = facade.mock(Mockable.class);
+    mock.get(1);
+    mock.get(2);
+    mock.get(3);
+    facade.thenCalledInOrder(mock).get(2);
+
+    metrics = facade.metrics();
+
+    assertEquals((Long) 1L, metrics.get("verify.calls"));
+    assertEquals((Long) 3L, metrics.get("verify.scanned"));
+  }
+
+  @Test
+  public void stubbing_and_verifying_mock_again_generates_no_proxy_classes() {
+    facade = enabledFacade();
+    mock = facade.mock(Mockable.class);
+    facade.given(facade.willReturn(1), mock).get(1);
+    Long generated = facade.metrics().get("proxy.classes");
+    facade.given(facade.willReturn(2), mock).get(2);
+    mock.get(1);
+    mock.get(2);
+    facade.thenCalled(mock).get(1);
+    facade.thenCalled(mock).get(2);
+
+    metrics = facade.metrics();
+
+    assertEquals(generated, metrics.get("proxy.classes"));
+  }
+
+  @Test
+  public void stubbing_and_verifying_mock_create_proxy_instance_each_time() {
+    facade = enabledFacade();
+    mock = facade.mock(Mockable.class);
+    facade.given(facade.willReturn(1), mock).get(1);
+    long created = count(facade.metrics(), "proxy.instances");
+    facade.given(facade.willReturn(2), mock).get(2);
+    mock.get(2);
+    facade.thenCalled(mock).get(2);
+
+    metrics = facade.metrics();
+
+    assertEquals(created + 2, count(metrics, "proxy.instances"));
+  }
+
+  @Test
+  public void counts_proxy_class_only_when_generated() {
+    facade = enabledFacade();
+    long before = count(facade.metrics(), "proxy.classes");
+    facade.mock(Generated.class);
+    assertEquals(before + 1, count(facade.metrics(), "proxy.classes"));
+
+    facade = enabledFacade();
+    before = count(facade.metrics(), "proxy.classes");
+    facade.mock(Generated.class);
+    assertEquals(before, count(facade.metrics(), "proxy.classes"));
+  }
+
+  private static long count(Map<String, Long> metrics, String name) {
+    return metrics.containsKey(name)
+        ? metrics.get(name)
+        : 0;
+  }
+
+  private static Facade enabledFacade() {
+    return testoryFacade(configuration().metrics(metrics()));
+  }
+
+  private static abstract class Mockable {
+    abstract void invoke();
+
+    abstract int get(int argument);
+  }
+
+  private static abstract class Generated {}
+}
@@ -1,5 +1,6 @@
 package org.testory;
 
+import static org.testory.Testory.any;
 import static org.testory.Testory.given;
 import static org.testory.Testory.mock;
 import static org.testory.Testory.then;
@@ -7,6 +8,8 @@ import static org.testory.Testory.thenCalledNever;
 import static org.testory.Testory.when;
 import static org.testory.testing.Purging.triggerPurge;
 
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.testory.proxy.Invocation;
@@ -42,6 +45,17 @@ public class TestPurgeScope {
     thenCalledNever(anyInvocation());
   }
 
+  @Test
+  public void given_purges_pending_wildcards() {
+    then(true);
+    any(Object.class);
+
+    given(true);
+    List<?> list = mock(List.class);
+    when(list.indexOf("a"));
+    thenCalledNever(list).indexOf("b");
+  }
+
   private static InvocationMatcher anyInvocation() {
     return new InvocationMatcher() {
       public boolean matches(Invocation invocation) {
@@ -222,6 +222,20 @@ public class TestStubbing {
     assertSame(object, mock.returnObject());
   }
 
+  @Test
+  public void mock_uses_invocation_matcher_stubbing_following_method_stubbing() {
+    given(willReturn(object), mock).returnObject();
+    given(willReturn(otherObject), onAlways);
+    assertSame(otherObject, mock.returnObject());
+  }
+
+  @Test
+  public void mock_uses_method_stubbing_following_invocation_matcher_stubbing() {
+    given(willReturn(object), onAlways);
+    given(willReturn(otherObject), mock).returnObject();
+    assertSame(otherObject, mock.returnObject());
+  }
+
   @Test
   public void mock_does_not_use_stubbing_preceding_its_creation() {
     given(willReturn(object), onAlways);
@@ -229,6 +243,51 @@ public class TestStubbing {
     assertNotSame(object, mock.returnObject());
   }
 
+  @Test
+  public void mock_stubbed_with_argument_returned_by_other_mock() {
+    Mockable otherMock = mock(Mockable.class);
+    given(willReturn(object), otherMock).returnObject();
+    given(willReturn(otherObject), mock).acceptObject(otherMock.returnObject());
+    assertSame(otherObject, mock.acceptObject(object));
+  }
+
+  @Test
+  public void mock_stubbed_with_argument_returned_by_same_mock() {
+    given(willReturn(1), mock).returnInt();
+    given(willReturn(otherObject), mock).acceptObject(mock.returnInt());
+    assertSame(otherObject, mock.acceptObject(1));
+  }
+
+  @Test
+  public void mock_stubbed_with_argument_stubbed_on_same_mock() {
+    given(willReturn(otherObject), mock).acceptObject(
+        given(willReturn(object), mock).returnObject());
+    assertSame(object, mock.returnObject());
+    assertSame(otherObject, mock.acceptObject(null));
+  }
+
+  @Test
+  public void stored_stubbings_keep_their_handlers() {
+    Mockable stubbing = given(willReturn(object), mock);
+    Mockable otherStubbing = given(willReturn(otherObject), mock);
+    stubbing.returnObject();
+    otherStubbing.acceptObject(object);
+    assertNotSame(stubbing, otherStubbing);
+    assertSame(object, mock.returnObject());
+    assertSame(otherObject, mock.acceptObject(object));
+  }
+
+  @Test
+  public void abandoned_stubbing_does_not_capture_invocation() {
+    given(willReturn(object), mock);
+    given(willReturn(otherObject), mock).acceptObject(object);
+    assertSame(otherObject, mock.acceptObject(object));
+    try {
+      mock.returnObject();
+      fail();
+    } catch (RuntimeException e) {}
+  }
+
   @Test
   public void invocation_matcher_matches_invocation_on_mock() throws NoSuchMethodException {
     given(new Handler() {
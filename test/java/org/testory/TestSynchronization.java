@@ -3,11 +3,15 @@ package org.testory;
 import static org.testory.Testory.given;
 import static org.testory.Testory.givenTest;
 import static org.testory.Testory.thenCalled;
+import static org.testory.Testory.thenCalledTimes;
 import static org.testory.Testory.thenEqual;
+import static org.testory.Testory.thenReturned;
+import static org.testory.Testory.when;
 import static org.testory.Testory.willReturn;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.testory.common.Closure;
 
 public class TestSynchronization {
   private Object mock;
@@ -40,6 +44,78 @@ public class TestSynchronization {
     thenEqual(returned, string);
   }
 
+  @Test
+  public void stubbing_is_not_consumed_by_other_thread() {
+    Object stubbing = given(willReturn(string), mock);
+    runInOtherThread(new Runnable() {
+      public void run() {
+        mock.toString();
+      }
+    });
+    stubbing.toString();
+    thenEqual(mock.toString(), string);
+  }
+
+  @Test
+  public void invocations_from_many_threads_are_not_lost() {
+    Thread[] threads = new Thread[8];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] = new Thread(new Runnable() {
+        public void run() {
+          for (int j = 0; j < 100; j++) {
+            mock.toString();
+          }
+        }
+      });
+    }
+    try {
+      for (Thread thread : threads) {
+        thread.start();
+      }
+      for (Thread thread : threads) {
+        thread.join();
+      }
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+    thenCalledTimes(800, mock).toString();
+  }
+
+  @Test
+  public void invocation_in_other_thread_is_recorded_while_formatting_failure() {
+    final Throwable throwable = new Throwable() {
+      private boolean invoked;
+
+      public String getMessage() {
+        if (!invoked) {
+          invoked = true;
+          runInOtherThread(new Runnable() {
+            public void run() {
+              mock.toString();
+            }
+          });
+        }
+        return "message";
+      }
+    };
+    when(new Closure() {
+      public Object invoke() throws Throwable {
+        throw throwable;
+      }
+    });
+    failure().getMessage();
+    thenCalled(mock).toString();
+  }
+
+  private static TestoryAssertionError failure() {
+    try {
+      thenReturned();
+    } catch (TestoryAssertionError e) {
+      return e;
+    }
+    throw new AssertionError();
+  }
+
   private static void runInOtherThread(Runnable runnable) {
     try {
       Thread thread = new Thread(runnable);
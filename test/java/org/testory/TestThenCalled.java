@@ -1,12 +1,16 @@
 package org.testory;
 
 import static java.lang.String.format;
+import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
+import static org.testory.Testory.given;
 import static org.testory.Testory.mock;
 import static org.testory.Testory.thenCalled;
+import static org.testory.Testory.willReturn;
 import static org.testory.testing.HamcrestMatchers.hasMessage;
 import static org.testory.testing.HamcrestMatchers.hasMessageContaining;
+import static org.testory.testing.Purging.triggerPurge;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -33,6 +37,19 @@ public class TestThenCalled {
     thenCalled(mock).invoke();
   }
 
+  @Test
+  public void asserts_call_following_unfinished_stubbing() {
+    given(willReturn(null), mock);
+    mock.invoke();
+    thenCalled(mock).invoke();
+  }
+
+  @Test
+  public void asserts_call_with_argument_returned_by_same_mock() {
+    mock.accept(0);
+    thenCalled(mock).accept(mock.size());
+  }
+
   @Test
   public void fails_if_no_calls() {
     try {
@@ -81,6 +98,21 @@ public class TestThenCalled {
     }
   }
 
+  @Test
+  public void failure_read_after_purge_prints_mock_names() {
+    mock.invoke();
+    mock.invoke();
+    TestoryAssertionError error = null;
+    try {
+      thenCalled(mock).invoke();
+      fail();
+    } catch (TestoryAssertionError e) {
+      error = e;
+    }
+    triggerPurge();
+    assertThat(error, not(hasMessageContaining("unknownMock")));
+  }
+
   @Test
   public void checks_that_invocation_matcher_is_not_null() {
     try {
@@ -125,5 +157,11 @@ public class TestThenCalled {
 
   private static abstract class Mockable {
     void invoke() {}
+
+    void accept(Object argument) {}
+
+    int size() {
+      return 0;
+    }
   }
 }
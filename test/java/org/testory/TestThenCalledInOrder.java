@@ -68,6 +68,16 @@ public class TestThenCalledInOrder {
     } catch (TestoryAssertionError e) {}
   }
 
+  @Test
+  public void asserts_invocations_made_after_verifying() {
+    first.invoke();
+    thenCalledInOrder(onInstance(first));
+    second.invoke();
+    first.invoke();
+    thenCalledInOrder(onInstance(second));
+    thenCalledInOrder(onInstance(first));
+  }
+
   @Test
   public void ignores_invocations_before() {
     first.invoke();
@@ -1,6 +1,7 @@
 package org.testory;
 
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.testory.Testory.mock;
@@ -8,6 +9,9 @@ import static org.testory.Testory.thenCalledTimes;
 import static org.testory.testing.HamcrestMatchers.hasMessage;
 import static org.testory.testing.HamcrestMatchers.hasMessageContaining;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.testory.proxy.Invocation;
@@ -37,6 +41,34 @@ public class TestThenCalledTimesInteger {
     thenCalledTimes(3, mock).invoke();
   }
 
+  @Test
+  public void counts_only_calls_with_equal_arguments() {
+    mock.invoke("a");
+    mock.invoke(1);
+    mock.invoke("a");
+    mock.invoke(new StringBuilder("a"));
+    thenCalledTimes(2, mock).invoke("a");
+    thenCalledTimes(1, mock).invoke(1);
+    thenCalledTimes(0, mock).invoke(1L);
+  }
+
+  @Test
+  public void stored_verifications_keep_their_counts() {
+    Mockable once = thenCalledTimes(1, mock);
+    Mockable never = thenCalledTimes(0, mock);
+    mock.invoke("a");
+    once.invoke("a");
+    never.invoke(1);
+  }
+
+  @Test
+  public void compares_arguments_as_they_are_during_verification() {
+    List<String> list = new ArrayList<>();
+    mock.invoke(list);
+    list.add("a");
+    thenCalledTimes(1, mock).invoke(asList("a"));
+  }
+
   @Test
   public void fails_if_unexpected_number_of_calls() {
     mock.invoke();
@@ -119,5 +151,7 @@ public class TestThenCalledTimesInteger {
 
   private static abstract class Mockable {
     void invoke() {}
+
+    void invoke(Object argument) {}
   }
 }
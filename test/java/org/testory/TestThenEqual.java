@@ -1,11 +1,15 @@
 package org.testory;
 
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 import static org.testory.Testory.thenEqual;
 import static org.testory.testing.Fakes.newObject;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -85,4 +89,24 @@ public class TestThenEqual {
           e.getMessage());
     }
   }
+
+  @Test
+  public void failure_message_is_formatted_once() {
+    List<String> list = new ArrayList<>(asList("before"));
+    try {
+      thenEqual(list, object);
+      fail();
+    } catch (TestoryAssertionError e) {
+      e.getMessage();
+      list.set(0, "after");
+      assertEquals(
+          format("\n"
+              + "  expected\n"
+              + "    %s\n"
+              + "  but was\n"
+              + "    [before]\n",
+              object),
+          e.getMessage());
+    }
+  }
 }
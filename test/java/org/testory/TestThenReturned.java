@@ -12,6 +12,8 @@ import static org.testory.testing.Closures.voidReturning;
 import static org.testory.testing.Fakes.newObject;
 import static org.testory.testing.Fakes.newThrowable;
 
+import java.io.PrintWriter;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -62,4 +64,24 @@ public class TestThenReturned {
           e.getMessage());
     }
   }
+
+  @Test
+  public void prints_stack_trace_once_when_message_is_read() {
+    final int[] printed = new int[1];
+    throwable = new RuntimeException() {
+      public void printStackTrace(PrintWriter writer) {
+        printed[0]++;
+      }
+    };
+    when(throwing(throwable));
+    try {
+      thenReturned();
+      fail();
+    } catch (TestoryAssertionError e) {
+      assertEquals(0, printed[0]);
+      e.getMessage();
+      e.toString();
+      assertEquals(1, printed[0]);
+    }
+  }
 }
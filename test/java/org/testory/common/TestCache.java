@@ -0,0 +1,44 @@
+package org.testory.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestCache {
+  private Cache<String, Object> cache;
+  private int computed;
+
+  @Before
+  public void before() {
+    cache = new Cache<String, Object>() {
+      protected Object compute(String key) {
+        computed++;
+        return new Object();
+      }
+    };
+  }
+
+  @Test
+  public void computes_value_once_for_each_key() {
+    cache.get("key");
+    cache.get("key");
+    cache.get("other");
+    assertEquals(2, computed);
+  }
+
+  @Test
+  public void returns_cached_value() {
+    assertSame(cache.get("key"), cache.get("key"));
+  }
+
+  @Test
+  public void key_cannot_be_null() {
+    try {
+      cache.get(null);
+      fail();
+    } catch (NullPointerException e) {}
+  }
+}
@@ -0,0 +1,132 @@
+package org.testory.plumbing.history;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.testory.plumbing.history.BufferedHistory.buffered;
+import static org.testory.plumbing.history.ConcurrentHistory.newConcurrentHistory;
+import static org.testory.proxy.Invocation.invocation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.testory.proxy.Invocation;
+
+public class TestBufferedHistory {
+  private static final int threads = 4;
+  private static final int invocations = 10000;
+
+  private History history;
+
+  @Before
+  public void before() {
+    history = buffered(newConcurrentHistory());
+  }
+
+  @Test
+  public void reads_invocation_added_by_other_thread() {
+    final Invocation invocation = newInvocation(new Tag(0, 0));
+    runInOtherThread(new Runnable() {
+      public void run() {
+        history.add(invocation);
+      }
+    });
+    assertEquals(asList(invocation), list(history));
+  }
+
+  @Test
+  public void keeps_invocation_before_event_added_later_by_other_thread() {
+    final Invocation invocation = newInvocation(new Tag(0, 0));
+    final Object event = new Object();
+    history.add(invocation);
+    runInOtherThread(new Runnable() {
+      public void run() {
+        history.add(event);
+      }
+    });
+    assertEquals(asList(event, invocation), list(history));
+  }
+
+  @Test
+  public void merges_all_invocations_of_all_threads_in_order_while_being_read() {
+    final AtomicBoolean running = new AtomicBoolean(true);
+    Thread reader = new Thread(new Runnable() {
+      public void run() {
+        while (running.get()) {
+          history.get();
+        }
+      }
+    });
+    reader.start();
+    List<Thread> writers = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      final int thread = i;
+      writers.add(new Thread(new Runnable() {
+        public void run() {
+          for (int j = 0; j < invocations; j++) {
+            history.add(newInvocation(new Tag(thread, j)));
+          }
+        }
+      }));
+    }
+    for (Thread writer : writers) {
+      writer.start();
+    }
+    join(writers);
+    running.set(false);
+    join(asList(reader));
+
+    int[] next = new int[threads];
+    for (Object event : history.get().reverse()) {
+      Tag tag = (Tag) ((Invocation) event).instance;
+      assertEquals(next[tag.thread]++, tag.index);
+    }
+    for (int i = 0; i < threads; i++) {
+      assertEquals(invocations, next[i]);
+    }
+  }
+
+  private static Invocation newInvocation(Tag tag) {
+    try {
+      return invocation(Object.class.getMethod("hashCode"), tag, new ArrayList<Object>());
+    } catch (NoSuchMethodException e) {
+      throw new LinkageError(null, e);
+    }
+  }
+
+  private static List<Object> list(History history) {
+    List<Object> events = new ArrayList<>();
+    for (Object event : history.get()) {
+      events.add(event);
+    }
+    return events;
+  }
+
+  private static void runInOtherThread(Runnable runnable) {
+    Thread thread = new Thread(runnable);
+    thread.start();
+    join(asList(thread));
+  }
+
+  private static void join(List<Thread> threads) {
+    try {
+      for (Thread thread : threads) {
+        thread.join();
+      }
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static class Tag {
+    final int thread;
+    final int index;
+
+    Tag(int thread, int index) {
+      this.thread = thread;
+      this.index = index;
+    }
+  }
+}
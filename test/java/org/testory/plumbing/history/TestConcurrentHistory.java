@@ -0,0 +1,139 @@
+package org.testory.plumbing.history;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.testory.plumbing.history.ConcurrentHistory.newConcurrentHistory;
+import static org.testory.proxy.Invocation.invocation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.testory.common.Chain;
+import org.testory.proxy.Invocation;
+
+public class TestConcurrentHistory {
+  private History history;
+  private Object event;
+  private Invocation first, second, third, fourth, fifth;
+
+  @Before
+  public void before() {
+    history = newConcurrentHistory(2);
+    event = new Object();
+    first = newInvocation();
+    second = newInvocation();
+    third = newInvocation();
+    fourth = newInvocation();
+    fifth = newInvocation();
+  }
+
+  @Test
+  public void cuts_tail() {
+    history.add(event);
+    history.add(first);
+    Chain<Object> tail = history.get();
+    history.add(second);
+    history.cut(tail);
+    assertEquals(asList(second), list(history));
+  }
+
+  @Test
+  public void cuts_tail_rebuilt_by_truncation() {
+    history.add(event);
+    history.add(first);
+    Chain<Object> tail = history.get();
+    history.add(second);
+    history.add(third);
+    history.cut(tail);
+    List<Object> events = list(history);
+    assertEquals(2, events.size());
+    assertEquals(third, events.get(0));
+    assertTrue(events.get(1) instanceof Truncated);
+  }
+
+  @Test
+  public void keeps_count_of_truncated_invocations_newer_than_tail() {
+    history.add(event);
+    history.add(first);
+    Chain<Object> tail = history.get();
+    history.add(second);
+    history.add(third);
+    history.cut(tail);
+    Truncated truncated = (Truncated) list(history).get(1);
+    assertEquals(1, truncated.size);
+    assertEquals(asList(second.instance), new ArrayList<>(truncated.counts.keySet()));
+  }
+
+  @Test
+  public void never_keeps_more_invocations_than_limit() {
+    history = newConcurrentHistory(4);
+    for (int i = 0; i < 100; i++) {
+      history.add(first);
+      int kept = 0;
+      for (Object event : history.get()) {
+        if (event instanceof Invocation) {
+          kept++;
+        }
+      }
+      assertTrue(kept <= 4);
+    }
+  }
+
+  @Test
+  public void keeps_invocations_added_after_cut() {
+    history.add(first);
+    history.add(second);
+    history.add(third);
+    history.add(fourth);
+    history.cut(history.get());
+    history.add(fifth);
+    assertEquals(asList(fifth), list(history));
+  }
+
+  @Test
+  public void counts_every_invocation_added_by_many_threads() throws InterruptedException {
+    history = newConcurrentHistory(100);
+    Thread[] threads = new Thread[8];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] = new Thread(new Runnable() {
+        public void run() {
+          for (int j = 0; j < 10000; j++) {
+            history.add(first);
+          }
+        }
+      });
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    int counted = 0;
+    for (Object event : history.get()) {
+      counted += event instanceof Truncated
+          ? ((Truncated) event).size
+          : 1;
+    }
+    assertEquals(80000, counted);
+  }
+
+  private static Invocation newInvocation() {
+    try {
+      return invocation(Object.class.getMethod("hashCode"), new Object(), new ArrayList<Object>());
+    } catch (NoSuchMethodException e) {
+      throw new LinkageError(null, e);
+    }
+  }
+
+  private static List<Object> list(History history) {
+    List<Object> events = new ArrayList<>();
+    for (Object event : history.get()) {
+      events.add(event);
+    }
+    return events;
+  }
+}
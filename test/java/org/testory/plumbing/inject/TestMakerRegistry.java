@@ -0,0 +1,87 @@
+package org.testory.plumbing.inject;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.testory.plumbing.Checker.checker;
+import static org.testory.plumbing.history.ConcurrentHistory.newConcurrentHistory;
+import static org.testory.plumbing.inject.MakerRegistry.makerRegistry;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.testory.plumbing.Checker;
+import org.testory.plumbing.Maker;
+
+public class TestMakerRegistry {
+  private String name;
+  private Object object, otherObject;
+  private MakerRegistry registry;
+  private Checker checker;
+
+  @Before
+  public void before() {
+    name = "name";
+    object = new Object();
+    otherObject = new Object();
+    registry = makerRegistry();
+    checker = checker(newConcurrentHistory(), IllegalStateException.class);
+  }
+
+  @Test
+  public void makes_using_type_maker_that_can_make_type() {
+    registry = registry
+        .register(typeMaker(String.class, object))
+        .register(typeMaker(Object.class, otherObject));
+    assertSame(otherObject, registry.checking(checker).make(Object.class, name));
+  }
+
+  @Test
+  public void asks_type_makers_in_order_of_registration() {
+    registry = registry
+        .register(typeMaker(Object.class, object))
+        .register(typeMaker(Object.class, otherObject));
+    assertSame(object, registry.checking(checker).make(Object.class, name));
+  }
+
+  @Test
+  public void prefers_maker_registered_for_exact_type() {
+    registry = registry
+        .register(typeMaker(Object.class, object))
+        .register(Object.class, maker(otherObject));
+    assertSame(otherObject, registry.checking(checker).make(Object.class, name));
+  }
+
+  @Test
+  public void finds_nothing_for_unsupported_type() {
+    registry = registry.register(typeMaker(String.class, object));
+    assertFalse(registry.find(Object.class).isPresent());
+  }
+
+  @Test
+  public void checker_reports_unsupported_type() {
+    try {
+      registry.checking(checker).make(Object.class, name);
+      fail();
+    } catch (IllegalStateException e) {}
+  }
+
+  private static Maker maker(final Object made) {
+    return new Maker() {
+      public <T> T make(Class<T> type, String name) {
+        return (T) made;
+      }
+    };
+  }
+
+  private static TypeMaker typeMaker(final Class<?> supported, final Object made) {
+    return new TypeMaker() {
+      public boolean canMake(Class<?> type) {
+        return type == supported;
+      }
+
+      public <T> T make(Class<T> type, String name) {
+        return (T) made;
+      }
+    };
+  }
+}
@@ -2,10 +2,12 @@ package org.testory.proxy.extra;
 
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 import static org.testory.proxy.Invocation.invocation;
 import static org.testory.proxy.extra.Overrider.overrider;
+import static org.testory.proxy.handler.ReturningHandler.returning;
 import static org.testory.proxy.proxer.CglibProxer.cglibProxer;
 import static org.testory.testing.Fakes.newObject;
 
@@ -72,6 +74,17 @@ public class TestOverrider {
     } catch (FooException e) {}
   }
 
+  @Test
+  public void keeps_proxy_bound_to_its_handler_after_next_override() {
+    Foo first = overrider.override(instance, returning(argument));
+    first.invoke(null);
+    Foo second = overrider.override(new Foo("other"), returning(result));
+
+    assertNotSame(first, second);
+    assertSame(argument, first.invoke(null));
+    assertSame(result, second.invoke(null));
+  }
+
   private static class Foo {
     private final String name;
 
@@ -531,6 +531,15 @@ public class TestCglibProxer {
     }
   }
 
+  @Test
+  public void reuses_proxy_class_for_same_typing() {
+    proxy = (Foo) proxer.proxy(typing, returning(object));
+    Foo otherProxy = (Foo) proxer.proxy(typing, returning(null));
+    assertSame(proxy.getClass(), otherProxy.getClass());
+    assertSame(object, proxy.getObject());
+    assertSame(null, otherProxy.getObject());
+  }
+
   @Test
   public void recursion_causes_stack_overflow() {
     proxy = (Foo) proxer.proxy(typing, new Handler() {